@@ -5,4 +5,5 @@ public final class Configuration {
 	public static final int SLOTS_CACHE_TIME_MIN = 1;
 	public static final int SPEAKERS_CACHE_LIFE_TIME_MINS = 60;
 	public static final int CONFERENCES_CACHE_LIFE_TIME_MINS = 5;
+	public static final int SLOTS_DOWNLOAD_PARALLELISM = 3;
 }
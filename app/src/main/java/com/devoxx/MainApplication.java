@@ -27,7 +27,10 @@ public class MainApplication extends MultiDexApplication {
 	@Override
 	public void onCreate() {
 		super.onCreate();
+		// Active conference resolves its time zone when first read.
+		JodaTimeAndroid.init(this);
 		realmProvider.init();
+		realmProvider.keepOpenOnCurrentThread();
 
 		if (settings.isFirstStart().getOr(true)) {
 			settings.edit().isFirstStart().put(false).apply();
@@ -36,7 +39,6 @@ public class MainApplication extends MultiDexApplication {
 
 		integrationProvider.provideIntegrationController().init();
 		Fabric.with(this, new Crashlytics());
-		JodaTimeAndroid.init(this);
 
 		conferenceManager.setupDefaultTimeZone();
 	}
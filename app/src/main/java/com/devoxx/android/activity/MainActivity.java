@@ -1,7 +1,6 @@
 package com.devoxx.android.activity;
 
 import com.annimon.stream.Optional;
-import com.annimon.stream.Stream;
 import com.devoxx.R;
 import com.devoxx.android.fragment.common.EmptyFragment_;
 import com.devoxx.android.fragment.schedule.ScheduleMainFragment_;
@@ -45,8 +44,6 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import java.util.List;
-
 @EActivity(R.layout.activity_main)
 public class MainActivity extends BaseActivity {
 
@@ -264,10 +261,8 @@ public class MainActivity extends BaseActivity {
 	}
 
 	private void loadTalkFromNotification() {
-		final List<SlotApiModel> items = slotsDataManager.getLastTalks();
-		final Optional<SlotApiModel> optModel = Stream.of(items)
-				.filter(new SlotApiModel.SameModelPredicate(fromNotificationSlotId))
-				.findFirst();
+		final Optional<SlotApiModel> optModel = slotsDataManager
+				.getSlotBySlotId(fromNotificationSlotId);
 
 		if (optModel.isPresent()) {
 			final Fragment fr = getSupportFragmentManager()
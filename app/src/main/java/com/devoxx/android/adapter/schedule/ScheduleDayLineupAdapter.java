@@ -5,8 +5,8 @@ import com.devoxx.android.adapter.ListAdapterClickListener;
 import com.devoxx.android.adapter.schedule.model.BreakScheduleItem;
 import com.devoxx.android.adapter.schedule.model.ScheduleItem;
 import com.devoxx.android.adapter.schedule.model.TalksScheduleItem;
-import com.devoxx.android.adapter.schedule.model.creator.ScheduleLineupDataCreator;
 import com.devoxx.android.view.list.schedule.BreakItemView_;
+import com.devoxx.android.view.list.schedule.SpeakerChipsPool;
 import com.devoxx.android.view.list.schedule.TalkItemView_;
 import com.devoxx.android.view.list.schedule.TalksMoreItemView_;
 import com.devoxx.android.view.list.schedule.TimespanItemView_;
@@ -18,7 +18,6 @@ import com.devoxx.android.view.listholder.schedule.TalksMoreItemHolder;
 import com.devoxx.android.view.listholder.schedule.TimespanItemHolder;
 import com.devoxx.connection.model.SlotApiModel;
 
-import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
 import android.content.Context;
@@ -54,15 +53,52 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 	public @interface ViewType {
 	}
 
-	@Bean
-	ScheduleLineupDataCreator scheduleLineupDataCreator;
-
 	private final List<ScheduleItem> data = new ArrayList<>();
+	private final ScheduleItemsIndex itemsIndex = new ScheduleItemsIndex();
+	private final SpeakerChipsPool speakerChipsPool = new SpeakerChipsPool();
 	private ListAdapterClickListener clickListener;
 
+	/**
+	 * Bumped on every change of rows, so a diff calculated against older rows is not applied.
+	 */
+	private int generation;
+	private List<ScheduleLineupDiff.Row> rows;
+
 	public void setData(List<ScheduleItem> aData) {
 		data.clear();
 		data.addAll(aData);
+		itemsIndex.reset(data);
+		onRowsChanged();
+	}
+
+	public ScheduleLineupDiff.Snapshot createSnapshot() {
+		itemsIndex.syncAll();
+		final ScheduleLineupDiff.Snapshot result = ScheduleLineupDiff.createSnapshot(
+				generation, data, rows);
+		rows = result.rows;
+		return result;
+	}
+
+	/**
+	 * @return false if rows changed since the diff's snapshot was taken, diff has to be calculated again.
+	 */
+	public boolean applyDiff(ScheduleLineupDiff diff) {
+		if (diff.baseGeneration != generation) {
+			return false;
+		}
+
+		data.clear();
+		data.addAll(diff.items);
+		itemsIndex.reset(data);
+		generation++;
+		rows = diff.rows;
+
+		if (diff.isFullRefresh()) {
+			notifyDataSetChanged();
+		} else {
+			diff.dispatchTo(this);
+		}
+		return true;
 	}
 
 	public void setListener(ListAdapterClickListener listener) {
@@ -88,7 +124,8 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 				result = new BreakItemHolder(BreakItemView_.build(context));
 				break;
 			case TALK_VIEW:
-				result = new TalkItemHolder(TalkItemView_.build(context));
+				result = new TalkItemHolder(TalkItemView_.build(context)
+						.withSpeakerChipsPool(speakerChipsPool));
 				break;
 			case TALK_MORE_VIEW:
 				result = new TalksMoreItemHolder(TalksMoreItemView_.build(context));
@@ -117,6 +154,7 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 	}
 
 	public int getRunningFirstPosition() {
+		itemsIndex.syncAll();
 		for (ScheduleItem item : data) {
 			if (item instanceof TalksScheduleItem && ((TalksScheduleItem) item).isRunning()) {
 				return item.getStartIndex();
@@ -130,12 +168,15 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 		holder.setRunIndicatorVisibility(item);
 
 		holder.setupMore(item, () -> {
+			// Items above may have been resized since this one was bound.
+			itemsIndex.sync(item);
 			item.switchTalksVisibility();
 			holder.toggleIndicator();
-			scheduleLineupDataCreator.refreshIndexes(data);
 
 			final int start = item.getStartIndexForHide();
 			final int count = item.getItemCountForHide();
+			itemsIndex.onItemResized(item, item.isOthersVisible() ? count : -count);
+			onRowsChanged();
 			if (item.isOthersVisible()) {
 				notifyItemRangeInserted(start, count);
 			} else {
@@ -146,6 +187,11 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 		});
 	}
 
+	private void onRowsChanged() {
+		generation++;
+		rows = null;
+	}
+
 	private void setupTimespanItemHolder(TimespanItemHolder holder, ScheduleItem scheduleItem) {
 		final TalksScheduleItem item = (TalksScheduleItem) scheduleItem;
 		holder.setupTimespan(item.getStartTime(), item.getEndTime(), item.isRunning());
@@ -161,16 +207,23 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 		final TalksScheduleItem item = (TalksScheduleItem) scheduleItem;
 		final Optional<SlotApiModel> slotModel = item.getItem(position);
 		if (slotModel.isPresent()) {
-			// Show running indicator for last talk in the item.
-			final boolean withRunningIndicator = item.isRunning() && position == item.getStopIndex();
+			// Show running indicator for last talk in the item. Compared by slot, rows moved
+			// by inserts or removals keep it without being rebound.
+			final boolean withRunningIndicator = item.isRunning()
+					&& slotModel.get() == item.getItem(item.getStopIndex()).orElse(null);
 			((TalkItemHolder) holder).setupTalk(slotModel.get(), withRunningIndicator);
-			setupOnItemClickListener(holder, position);
+			setupOnItemClickListener(holder);
 		}
 	}
 
-	private void setupOnItemClickListener(BaseItemHolder holder, int position) {
-		holder.itemView.setOnClickListener(v ->
-				clickListener.onListAdapterItemClick(v, position, getItemId(position)));
+	private void setupOnItemClickListener(BaseItemHolder holder) {
+		holder.itemView.setOnClickListener(v -> {
+			// The row may have moved since it was bound.
+			final int position = holder.getAdapterPosition();
+			if (position != RecyclerView.NO_POSITION) {
+				clickListener.onListAdapterItemClick(v, position, getItemId(position));
+			}
+		});
 	}
 
 	@Override
@@ -182,23 +235,11 @@ public class ScheduleDayLineupAdapter extends RecyclerView.Adapter<BaseItemHolde
 
 	@Override
 	public int getItemCount() {
-		int result = 0;
-		for (ScheduleItem scheduleItem : data) {
-			result += scheduleItem.getSize();
-		}
-		return result;
+		return itemsIndex.getCount();
 	}
 
 	@Nullable
 	private ScheduleItem getItem(int position) {
-		for (ScheduleItem scheduleItem : data) {
-			final int startIndex = scheduleItem.getStartIndex();
-			final int stopIndex = scheduleItem.getStopIndex();
-			if (position >= startIndex && position <= stopIndex) {
-				return scheduleItem;
-			}
-		}
-
-		return null;
+		return itemsIndex.find(position);
 	}
 }
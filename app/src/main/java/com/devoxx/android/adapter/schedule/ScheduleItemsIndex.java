@@ -0,0 +1,143 @@
+package com.devoxx.android.adapter.schedule;
+
+import com.devoxx.android.adapter.schedule.model.ScheduleItem;
+
+import android.support.annotation.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps adapter positions to schedule items with a binary search over the items start
+ * positions. Resizes are kept as deltas in a Fenwick tree, so expanding or collapsing
+ * an item is logarithmic; items get their shifted indexes when they are looked up.
+ */
+final class ScheduleItemsIndex {
+
+	private List<ScheduleItem> items;
+	private final Map<ScheduleItem, Integer> ordinals = new IdentityHashMap<>();
+	private int[] baseStarts = new int[0];
+	private int[] baseStops = new int[0];
+	// 1-based Fenwick tree of size deltas by item ordinal.
+	private int[] deltas = new int[1];
+	private int count;
+
+	/**
+	 * Lays out the items one after another, starting at the first position.
+	 */
+	static void assignIndexes(List<ScheduleItem> data) {
+		int index = 0;
+		for (ScheduleItem item : data) {
+			final int size = item.getSize();
+			item.setStartIndex(index);
+			item.setStopIndex(index + size - 1);
+			index += size;
+		}
+	}
+
+	void reset(List<ScheduleItem> data) {
+		items = data;
+		ordinals.clear();
+		baseStarts = new int[data.size()];
+		baseStops = new int[data.size()];
+		deltas = new int[data.size() + 1];
+		count = 0;
+
+		for (int i = 0; i < baseStarts.length; i++) {
+			final ScheduleItem item = data.get(i);
+			ordinals.put(item, i);
+			baseStarts[i] = item.getStartIndex();
+			baseStops[i] = item.getStopIndex();
+			count = item.getStopIndex() + 1;
+		}
+	}
+
+	int getCount() {
+		return count;
+	}
+
+	@Nullable
+	ScheduleItem find(int position) {
+		if (position < 0 || position >= count) {
+			return null;
+		}
+
+		// Last item starting at or before the position.
+		int low = 0;
+		int high = baseStarts.length - 1;
+		int index = -1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (startOf(mid) <= position) {
+				index = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		if (index < 0 || position > stopOf(index)) {
+			return null;
+		}
+		final ScheduleItem result = items.get(index);
+		sync(result, index);
+		return result;
+	}
+
+	/**
+	 * Updates indexes after the given item changed its size by {@code delta} rows.
+	 */
+	void onItemResized(ScheduleItem item, int delta) {
+		final Integer ordinal = ordinals.get(item);
+		if (ordinal == null || delta == 0) {
+			return;
+		}
+
+		for (int k = ordinal + 1; k < deltas.length; k += k & -k) {
+			deltas[k] += delta;
+		}
+		count += delta;
+		sync(item, ordinal);
+	}
+
+	/**
+	 * Brings the item indexes up to date, items are only updated when looked up.
+	 */
+	void sync(ScheduleItem item) {
+		final Integer ordinal = ordinals.get(item);
+		if (ordinal != null) {
+			sync(item, ordinal);
+		}
+	}
+
+	void syncAll() {
+		for (int i = 0; i < baseStarts.length; i++) {
+			sync(items.get(i), i);
+		}
+	}
+
+	private void sync(ScheduleItem item, int ordinal) {
+		item.setStartIndex(startOf(ordinal));
+		item.setStopIndex(stopOf(ordinal));
+	}
+
+	private int startOf(int ordinal) {
+		return baseStarts[ordinal] + shiftBefore(ordinal);
+	}
+
+	private int stopOf(int ordinal) {
+		return baseStops[ordinal] + shiftBefore(ordinal + 1);
+	}
+
+	/**
+	 * Sum of deltas of items placed before the given ordinal.
+	 */
+	private int shiftBefore(int ordinal) {
+		int result = 0;
+		for (int k = ordinal; k > 0; k -= k & -k) {
+			result += deltas[k];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,258 @@
+package com.devoxx.android.adapter.schedule;
+
+import com.annimon.stream.Optional;
+import com.devoxx.android.adapter.schedule.model.ScheduleItem;
+import com.devoxx.android.adapter.schedule.model.TalksScheduleItem;
+import com.devoxx.connection.model.SlotApiModel;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Difference between two lineups of a day, computed on a worker thread and dispatched
+ * to {@link ScheduleDayLineupAdapter} as insert/remove/change notifications.
+ * Rows are matched by slot id (talks, breaks) or time span (timespan and "more" rows).
+ */
+public final class ScheduleLineupDiff {
+
+	/**
+	 * Above this old x new rows count lineups are just replaced, it is never reached by a single day.
+	 */
+	private static final int MAX_DIFF_MATRIX_SIZE = 512 * 512;
+
+	private static final int OP_REMOVE = 0;
+	private static final int OP_INSERT = 1;
+	private static final int OP_CHANGE = 2;
+
+	/**
+	 * Adapter state captured on the UI thread, the only state read by the worker.
+	 */
+	public static final class Snapshot {
+		final int generation;
+		final List<Row> rows;
+		final Set<String> collapsedItems;
+
+		Snapshot(int generation, List<Row> rows, Set<String> collapsedItems) {
+			this.generation = generation;
+			this.rows = rows;
+			this.collapsedItems = collapsedItems;
+		}
+	}
+
+	static final class Row {
+		final String key;
+		final int content;
+
+		Row(String key, int content) {
+			this.key = key;
+			this.content = content;
+		}
+	}
+
+	final int baseGeneration;
+	final List<ScheduleItem> items;
+	final List<Row> rows;
+	private final List<int[]> operations;
+
+	private ScheduleLineupDiff(int baseGeneration, List<ScheduleItem> items,
+							   List<Row> rows, List<int[]> operations) {
+		this.baseGeneration = baseGeneration;
+		this.items = items;
+		this.rows = rows;
+		this.operations = operations;
+	}
+
+	/**
+	 * Must be called off the UI thread, new items are not visible to the adapter yet.
+	 */
+	public static ScheduleLineupDiff calculate(Snapshot base, List<ScheduleItem> newItems) {
+		for (ScheduleItem item : newItems) {
+			if (item instanceof TalksScheduleItem
+					&& base.collapsedItems.contains(timespanKey(item))) {
+				((TalksScheduleItem) item).setOthersVisible(false);
+			}
+		}
+		ScheduleItemsIndex.assignIndexes(newItems);
+
+		final List<Row> newRows = createRows(newItems);
+		return new ScheduleLineupDiff(base.generation, newItems, newRows,
+				calculateOperations(base.rows, newRows));
+	}
+
+	static Snapshot createSnapshot(int generation, List<ScheduleItem> items, List<Row> rows) {
+		final Set<String> collapsed = new HashSet<>();
+		for (ScheduleItem item : items) {
+			if (item instanceof TalksScheduleItem && !((TalksScheduleItem) item).isOthersVisible()) {
+				collapsed.add(timespanKey(item));
+			}
+		}
+		return new Snapshot(generation, rows != null ? rows : createRows(items), collapsed);
+	}
+
+	boolean isFullRefresh() {
+		return operations == null;
+	}
+
+	void dispatchTo(RecyclerView.Adapter adapter) {
+		for (int[] operation : operations) {
+			switch (operation[0]) {
+				case OP_REMOVE:
+					adapter.notifyItemRangeRemoved(operation[1], operation[2]);
+					break;
+				case OP_INSERT:
+					adapter.notifyItemRangeInserted(operation[1], operation[2]);
+					break;
+				case OP_CHANGE:
+					adapter.notifyItemRangeChanged(operation[1], operation[2]);
+					break;
+			}
+		}
+	}
+
+	static List<Row> createRows(List<ScheduleItem> items) {
+		final List<Row> result = new ArrayList<>();
+		for (ScheduleItem item : items) {
+			final String span = timespanKey(item);
+			for (int position = item.getStartIndex(); position <= item.getStopIndex(); position++) {
+				result.add(createRow(item, span, position));
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static Row createRow(ScheduleItem item, String span, int position) {
+		final int type = item.getItemType(position);
+		if (type == ScheduleDayLineupAdapter.TIMESPAN_VIEW
+				|| type == ScheduleDayLineupAdapter.TALK_MORE_VIEW) {
+			final TalksScheduleItem talks = (TalksScheduleItem) item;
+			int content = talks.isRunning() ? 1 : 0;
+			if (type == ScheduleDayLineupAdapter.TALK_MORE_VIEW) {
+				content = 31 * content + (talks.isOthersVisible() ? 1 : 0);
+				content = 31 * content + talks.talksCount();
+				content = 31 * content + talks.tracksCount();
+			}
+			return new Row(type + ":" + span, content);
+		}
+
+		final Optional<SlotApiModel> slot = item.getItem(position);
+		if (!slot.isPresent()) {
+			return new Row(type + ":" + span + ":" + position, 0);
+		}
+
+		final SlotApiModel model = slot.get();
+		int content = hash(model.roomName);
+		content = 31 * content + hash(model.fromTime);
+		content = 31 * content + hash(model.toTime);
+		if (model.talk != null) {
+			content = 31 * content + hash(model.talk.title);
+			content = 31 * content + hash(model.talk.trackId);
+			content = 31 * content + hash(model.talk.getReadableSpeakers());
+		}
+		if (item instanceof TalksScheduleItem) {
+			final TalksScheduleItem talks = (TalksScheduleItem) item;
+			final boolean withRunningIndicator = talks.isRunning()
+					&& position == item.getStopIndex();
+			content = 31 * content + (withRunningIndicator ? 1 : 0);
+			content = 31 * content + (talks.isFavouredSlot(model) ? 1 : 0);
+		}
+		return new Row(type + ":" + model.slotId, content);
+	}
+
+	/**
+	 * Longest common subsequence of row keys. Operations are stored from the end
+	 * of the list, so every position is still valid when it is dispatched.
+	 */
+	private static List<int[]> calculateOperations(List<Row> oldRows, List<Row> newRows) {
+		final int oldSize = oldRows.size();
+		final int newSize = newRows.size();
+
+		int prefix = 0;
+		while (prefix < oldSize && prefix < newSize
+				&& oldRows.get(prefix).key.equals(newRows.get(prefix).key)) {
+			prefix++;
+		}
+
+		int suffix = 0;
+		while (suffix < oldSize - prefix && suffix < newSize - prefix
+				&& oldRows.get(oldSize - 1 - suffix).key.equals(newRows.get(newSize - 1 - suffix).key)) {
+			suffix++;
+		}
+
+		final int n = oldSize - prefix - suffix;
+		final int m = newSize - prefix - suffix;
+		if ((long) (n + 1) * (m + 1) > MAX_DIFF_MATRIX_SIZE) {
+			return null;
+		}
+
+		final int[][] lengths = new int[n + 1][m + 1];
+		for (int i = n - 1; i >= 0; i--) {
+			for (int j = m - 1; j >= 0; j--) {
+				if (oldRows.get(prefix + i).key.equals(newRows.get(prefix + j).key)) {
+					lengths[i][j] = lengths[i + 1][j + 1] + 1;
+				} else {
+					lengths[i][j] = Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+				}
+			}
+		}
+
+		// Matched pairs in (old, new) coordinates, including common prefix and suffix.
+		final List<int[]> matches = new ArrayList<>();
+		for (int k = 0; k < prefix; k++) {
+			matches.add(new int[]{k, k});
+		}
+		int i = 0;
+		int j = 0;
+		while (i < n && j < m) {
+			if (oldRows.get(prefix + i).key.equals(newRows.get(prefix + j).key)) {
+				matches.add(new int[]{prefix + i, prefix + j});
+				i++;
+				j++;
+			} else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		for (int k = suffix; k > 0; k--) {
+			matches.add(new int[]{oldSize - k, newSize - k});
+		}
+
+		final List<int[]> result = new ArrayList<>();
+		int nextOld = oldSize;
+		int nextNew = newSize;
+		for (int k = matches.size() - 1; k >= -1; k--) {
+			final int oldIndex = k >= 0 ? matches.get(k)[0] : -1;
+			final int newIndex = k >= 0 ? matches.get(k)[1] : -1;
+
+			final int removed = nextOld - oldIndex - 1;
+			final int inserted = nextNew - newIndex - 1;
+			if (removed > 0) {
+				result.add(new int[]{OP_REMOVE, oldIndex + 1, removed});
+			}
+			if (inserted > 0) {
+				result.add(new int[]{OP_INSERT, oldIndex + 1, inserted});
+			}
+
+			if (k >= 0 && oldRows.get(oldIndex).content != newRows.get(newIndex).content) {
+				result.add(new int[]{OP_CHANGE, oldIndex, 1});
+			}
+
+			nextOld = oldIndex;
+			nextNew = newIndex;
+		}
+		return result;
+	}
+
+	private static String timespanKey(ScheduleItem item) {
+		return item.getStartTime() + "-" + item.getEndTime();
+	}
+
+	private static int hash(String value) {
+		return value != null ? value.hashCode() : 0;
+	}
+}
@@ -25,9 +25,12 @@ public class BreakScheduleItem extends ScheduleItem {
 		}
 	}
 
+	/**
+	 * Break is shown once, models of all rooms share its row.
+	 */
 	@Override
 	public int getSize() {
-		return slotApiModels.size();
+		return 1;
 	}
 
 	@Override
@@ -43,6 +43,10 @@ public class TalksScheduleItem extends ScheduleItem {
 		return countTracks(otherSlots) + countTracks(favouredSlots);
 	}
 
+	public boolean isFavouredSlot(SlotApiModel model) {
+		return favouredSlots.contains(model);
+	}
+
 	public boolean isOthersVisible() {
 		return isOthersVisible;
 	}
@@ -97,6 +101,10 @@ public class TalksScheduleItem extends ScheduleItem {
 		return result;
 	}
 
+	public void setOthersVisible(boolean othersVisible) {
+		isOthersVisible = othersVisible;
+	}
+
 	public void switchTalksVisibility() {
 		isOthersVisible ^= true;
 	}
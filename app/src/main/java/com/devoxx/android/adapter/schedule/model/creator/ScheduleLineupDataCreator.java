@@ -1,29 +1,44 @@
 package com.devoxx.android.adapter.schedule.model.creator;
 
-import com.annimon.stream.Collector;
-import com.annimon.stream.Collectors;
-import com.annimon.stream.Stream;
-import com.annimon.stream.function.Function;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.android.adapter.schedule.model.BreakScheduleItem;
 import com.devoxx.android.adapter.schedule.model.ScheduleItem;
 import com.devoxx.android.adapter.schedule.model.TalksScheduleItem;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.conference.ConferenceManager;
 import com.devoxx.data.manager.SlotsDataManager;
+import com.devoxx.data.schedule.index.SlotsSnapshot;
 import com.devoxx.data.user.UserFavouritedTalksManager;
-import com.devoxx.utils.tuple.TripleTuple;
 
+import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-
-@EBean
-public class ScheduleLineupDataCreator {
+import java.util.Set;
+
+/**
+ * Lineup of a day is grouped into sorted timeslots once per schedule version.
+ * Search and filters only select slots of the cached timeslots.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class ScheduleLineupDataCreator implements SlotsDataManager.SlotsListener {
+
+	private static final Comparator<SlotApiModel> TIMESPAN_COMPARATOR = (lhs, rhs) -> {
+		if (lhs.fromTimeMs() != rhs.fromTimeMs()) {
+			return lhs.fromTimeMs() < rhs.fromTimeMs() ? -1 : 1;
+		}
+		return lhs.toTimeMs() < rhs.toTimeMs() ? -1 : (lhs.toTimeMs() == rhs.toTimeMs() ? 0 : 1);
+	};
 
 	@Bean
 	SlotsDataManager slotsDataManager;
@@ -34,56 +49,61 @@ public class ScheduleLineupDataCreator {
 	@Bean
 	ConferenceManager conferenceManager;
 
-	private Collector<SlotApiModel, ?, Map<TripleTuple<Long, Long, String>, List<SlotApiModel>>>
-			triplesCollector = createTriplesCollector();
+	private final Map<Long, List<Timeslot>> dayTimeslots = new HashMap<>();
+	private long timeslotsVersion = -1;
 
-	@NonNull
-	public List<ScheduleItem> prepareInitialData(long lineupDayMs) {
-		final List<SlotApiModel> slotsRaw = slotsDataManager.getSlotsForDay(lineupDayMs);
-		return prepareResult(slotsRaw);
+	@AfterInject
+	void afterInject() {
+		slotsDataManager.addSlotsListener(this);
+	}
+
+	/**
+	 * Drops timeslots of the previous version right away instead of on the next lineup.
+	 */
+	@Override
+	public void onSlotsChanged(SlotsSnapshot snapshot) {
+		synchronized (dayTimeslots) {
+			if (snapshot.getVersion() != timeslotsVersion) {
+				dayTimeslots.clear();
+				timeslotsVersion = snapshot.getVersion();
+			}
+		}
 	}
 
 	@NonNull
-	public List<ScheduleItem> prepareResult(List<SlotApiModel> slotApiModels) {
-		final Map<TripleTuple<Long, Long, String>, List<SlotApiModel>> map = Stream.of(slotApiModels)
-				.sorted((lhs, rhs) -> lhs.fromTimeMs() < rhs.fromTimeMs() ? -1 : (lhs.fromTimeMs() == rhs.fromTimeMs() ? 0 : 1))
-				.collect(triplesCollector);
-
-		final List<TripleTuple<Long, Long, String>> sortedKeys = Stream.of(map.keySet())
-				.sorted((lhsVal, rhsVal) -> {
-					final long lhs = lhsVal.first;
-					final long rhs = rhsVal.first;
-					return lhs < rhs ? -1 : (lhs == rhs ? 0 : 1);
-				})
-				.collect(Collectors.<TripleTuple<Long, Long, String>>toList());
-
-		return buildListItems(map, sortedKeys);
+	public List<ScheduleItem> prepareInitialData(long lineupDayMs) {
+		return prepareResult(lineupDayMs, null, null);
 	}
 
+	/**
+	 * Builds lineup of the day from slots accepted by both masks, null mask accepts all slots.
+	 */
 	@NonNull
-	private List<ScheduleItem> buildListItems(
-			Map<TripleTuple<Long, Long, String>, List<SlotApiModel>> map,
-			List<TripleTuple<Long, Long, String>> sortedKeys) {
-		final List<ScheduleItem> result = new ArrayList<>(sortedKeys.size());
+	public List<ScheduleItem> prepareResult(long lineupDayMs,
+											@Nullable Predicate<SlotApiModel> searchMask,
+											@Nullable Predicate<SlotApiModel> filterMask) {
+		final List<Timeslot> timeslots = getTimeslots(lineupDayMs);
+		final List<ScheduleItem> result = new ArrayList<>(timeslots.size());
 
 		int index = 0;
-		for (TripleTuple<Long, Long, String> sortedKey : sortedKeys) {
-			final long startTime = sortedKey.first;
-			final long endTime = sortedKey.second;
-
-			final List<SlotApiModel> preModels = map.get(sortedKey);
-			final List<SlotApiModel> models = Stream.of(preModels)
-					.distinct().collect(Collectors.toList());
+		for (Timeslot timeslot : timeslots) {
+			final List<SlotApiModel> models = selectSlots(timeslot.slots, searchMask, filterMask);
+			if (models.isEmpty()) {
+				continue;
+			}
 
 			final int size = models.size();
+			final boolean isBreak = models == timeslot.slots ? timeslot.isBreak : isBreak(models);
 
-			if (isBreak(models)) {
+			if (isBreak) {
+				// One row for the whole break, whatever the number of rooms.
 				result.add(new BreakScheduleItem(
-						startTime, endTime, index, index, models));
+						timeslot.startTime, timeslot.endTime, index, index, models));
+				index++;
 			} else {
 				final int endIndex = index + size + 1; // 1 - for more view.
 				final TalksScheduleItem talksScheduleItem = new TalksScheduleItem(
-						startTime, endTime, index, endIndex);
+						timeslot.startTime, timeslot.endTime, index, endIndex);
 
 				index += 2; // +2 for timespan and more view.
 
@@ -98,11 +118,70 @@ public class ScheduleLineupDataCreator {
 				talksScheduleItem.setRunning(isRunningItem(talksScheduleItem));
 
 				result.add(talksScheduleItem);
+				index += size;
 			}
+		}
 
-			index += size;
+		return result;
+	}
+
+	private List<Timeslot> getTimeslots(long lineupDayMs) {
+		synchronized (dayTimeslots) {
+			final long version = slotsDataManager.getSlotsVersion();
+			if (version != timeslotsVersion) {
+				dayTimeslots.clear();
+				timeslotsVersion = version;
+			}
+
+			List<Timeslot> result = dayTimeslots.get(lineupDayMs);
+			if (result == null) {
+				result = groupTimeslots(slotsDataManager.getSlotsForDay(lineupDayMs));
+				dayTimeslots.put(lineupDayMs, result);
+			}
+			return result;
+		}
+	}
+
+	private static List<Timeslot> groupTimeslots(List<SlotApiModel> slots) {
+		final List<SlotApiModel> sorted = new ArrayList<>(slots);
+		Collections.sort(sorted, TIMESPAN_COMPARATOR);
+
+		final List<Timeslot> result = new ArrayList<>();
+		final int size = sorted.size();
+		int groupStart = 0;
+		while (groupStart < size) {
+			final long startTime = sorted.get(groupStart).fromTimeMs();
+			final long endTime = sorted.get(groupStart).toTimeMs();
+
+			final Set<SlotApiModel> group = new LinkedHashSet<>();
+			int groupEnd = groupStart;
+			while (groupEnd < size && sorted.get(groupEnd).fromTimeMs() == startTime
+					&& sorted.get(groupEnd).toTimeMs() == endTime) {
+				group.add(sorted.get(groupEnd));
+				groupEnd++;
+			}
+
+			result.add(new Timeslot(startTime, endTime, new ArrayList<>(group)));
+			groupStart = groupEnd;
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	private static List<SlotApiModel> selectSlots(List<SlotApiModel> slots,
+												  @Nullable Predicate<SlotApiModel> searchMask,
+												  @Nullable Predicate<SlotApiModel> filterMask) {
+		if (searchMask == null && filterMask == null) {
+			return slots;
 		}
 
+		final List<SlotApiModel> result = new ArrayList<>(slots.size());
+		for (SlotApiModel slot : slots) {
+			if ((searchMask == null || searchMask.test(slot))
+					&& (filterMask == null || filterMask.test(slot))) {
+				result.add(slot);
+			}
+		}
 		return result;
 	}
 
@@ -112,7 +191,7 @@ public class ScheduleLineupDataCreator {
 				&& scheduleItem.getEndTime() >= currentTime;
 	}
 
-	private boolean isBreak(List<SlotApiModel> models) {
+	private static boolean isBreak(List<SlotApiModel> models) {
 		boolean result = false;
 		for (SlotApiModel model : models) {
 			if (model.isBreak()) {
@@ -123,28 +202,17 @@ public class ScheduleLineupDataCreator {
 		return result;
 	}
 
-	private static Collector<SlotApiModel, ?, Map<TripleTuple<Long, Long, String>, List<SlotApiModel>>> createTriplesCollector() {
-		return Collectors.groupingBy(new Function<SlotApiModel, TripleTuple<Long, Long, String>>() {
-			@Override
-			public TripleTuple<Long, Long, String> apply(SlotApiModel value) {
-				return new TripleTuple<>(value.fromTimeMs(), value.toTimeMs(), value.slotId);
-			}
-		});
-	}
-
-	public void refreshIndexes(List<ScheduleItem> data) {
-		int index = 0;
-		for (ScheduleItem scheduleItem : data) {
-			if (scheduleItem instanceof BreakScheduleItem) {
-				scheduleItem.setStartIndex(index);
-				scheduleItem.setStopIndex(index);
-				index++;
-			} else {
-				final int talkItemSize = scheduleItem.getSize();
-				scheduleItem.setStartIndex(index);
-				scheduleItem.setStopIndex(index + talkItemSize - 1);
-				index += talkItemSize;
-			}
+	private static final class Timeslot {
+		final long startTime;
+		final long endTime;
+		final List<SlotApiModel> slots;
+		final boolean isBreak;
+
+		Timeslot(long startTime, long endTime, List<SlotApiModel> slots) {
+			this.startTime = startTime;
+			this.endTime = endTime;
+			this.slots = Collections.unmodifiableList(slots);
+			this.isBreak = isBreak(slots);
 		}
 	}
 }
@@ -1,12 +1,12 @@
 package com.devoxx.android.adapter.track;
 
 import com.devoxx.android.adapter.ListAdapterClickListener;
+import com.devoxx.android.view.list.schedule.SpeakerChipsPool;
 import com.devoxx.android.view.list.schedule.TalkItemView_;
 import com.devoxx.android.view.listholder.track.BaseTrackHolder;
 import com.devoxx.android.view.listholder.track.TalkTrackHolder;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.conference.ConferenceManager;
-import com.devoxx.data.downloader.TracksDownloader;
 import com.devoxx.data.manager.NotificationsManager;
 
 import org.androidannotations.annotations.Bean;
@@ -23,9 +23,6 @@ public class TracksAdapter extends RecyclerView.Adapter<BaseTrackHolder> {
 
 	public static final int INVALID_RUNNING_FIRST_INDEX = -1;
 
-	@Bean
-	TracksDownloader tracksDownloader;
-
 	@Bean
 	ConferenceManager conferenceManager;
 
@@ -33,6 +30,7 @@ public class TracksAdapter extends RecyclerView.Adapter<BaseTrackHolder> {
 	NotificationsManager notificationsManager;
 
 	private final List<SlotApiModel> data = new ArrayList<>();
+	private final SpeakerChipsPool speakerChipsPool = new SpeakerChipsPool();
 	private ListAdapterClickListener clickListener;
 
 	public void setData(List<SlotApiModel> aData) {
@@ -42,7 +40,8 @@ public class TracksAdapter extends RecyclerView.Adapter<BaseTrackHolder> {
 
 	@Override
 	public BaseTrackHolder onCreateViewHolder(ViewGroup parent, int viewType) {
-		return new TalkTrackHolder(TalkItemView_.build(parent.getContext()));
+		return new TalkTrackHolder(TalkItemView_.build(parent.getContext())
+				.withSpeakerChipsPool(speakerChipsPool));
 	}
 
 	@Override
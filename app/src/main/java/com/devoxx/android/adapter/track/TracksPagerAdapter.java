@@ -5,6 +5,7 @@ import com.annimon.stream.Stream;
 import com.annimon.stream.function.Function;
 import com.devoxx.android.fragment.track.TracksListFragment_;
 import com.devoxx.connection.model.SlotApiModel;
+import com.devoxx.data.cache.TracksMetadataCache;
 import com.devoxx.utils.tuple.Tuple;
 
 import android.support.v4.app.Fragment;
@@ -18,12 +19,15 @@ import java.util.Map;
 
 public class TracksPagerAdapter extends FragmentStatePagerAdapter {
 
+	private final TracksMetadataCache tracksMetadataCache;
 	private Map<Tuple<String, String>, List<SlotApiModel>> tracksMap;
 	private List<String> tracksNames;
 	private HashMap<String, String> nameIdMap;
 
-	public TracksPagerAdapter(FragmentManager fm, List<SlotApiModel> slots) {
+	public TracksPagerAdapter(FragmentManager fm, TracksMetadataCache tracksMetadataCache,
+							  List<SlotApiModel> slots) {
 		super(fm);
+		this.tracksMetadataCache = tracksMetadataCache;
 		setData(slots);
 	}
 
@@ -41,7 +45,9 @@ public class TracksPagerAdapter extends FragmentStatePagerAdapter {
 
 	@Override
 	public CharSequence getPageTitle(int position) {
-		return tracksNames.get(position);
+		final String trackName = tracksNames.get(position);
+		final String title = tracksMetadataCache.getTrackTitle(nameIdMap.get(trackName));
+		return title != null ? title : trackName;
 	}
 
 	public void setData(List<SlotApiModel> slotApiModels) {
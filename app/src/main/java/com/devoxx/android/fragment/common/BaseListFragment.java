@@ -4,6 +4,7 @@ import com.devoxx.R;
 import com.devoxx.android.adapter.ListAdapterClickListener;
 import com.devoxx.data.schedule.filter.ScheduleFilterManager;
 import com.devoxx.data.schedule.search.SearchManager;
+import com.devoxx.utils.FrameTimeMonitor;
 
 import org.androidannotations.annotations.AfterViews;
 import org.androidannotations.annotations.Bean;
@@ -43,6 +44,18 @@ public abstract class BaseListFragment extends BaseFragment
 			}
 			return false;
 		});
+
+		final FrameTimeMonitor frameTimeMonitor = new FrameTimeMonitor(getClass().getSimpleName());
+		recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+			@Override
+			public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+				if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+					frameTimeMonitor.stop();
+				} else {
+					frameTimeMonitor.start();
+				}
+			}
+		});
 	}
 
 	private void setupList() {
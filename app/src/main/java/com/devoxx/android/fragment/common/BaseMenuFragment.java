@@ -9,6 +9,7 @@ import com.devoxx.android.dialog.FiltersDialog;
 import com.devoxx.data.conference.ConferenceManager;
 import com.devoxx.data.model.RealmConference;
 import com.devoxx.data.schedule.filter.ScheduleFilterManager;
+import com.devoxx.data.schedule.filter.ScheduleFilters;
 import com.devoxx.data.schedule.filter.model.RealmScheduleCustomFilter;
 import com.devoxx.data.schedule.filter.model.RealmScheduleDayItemFilter;
 import com.devoxx.data.schedule.filter.model.RealmScheduleTrackItemFilter;
@@ -20,12 +21,14 @@ import org.androidannotations.annotations.AfterViews;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EFragment;
 import org.androidannotations.annotations.OptionsItem;
+import org.androidannotations.annotations.UiThread;
 
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Bundle;
 import android.os.CountDownTimer;
 import android.support.annotation.MenuRes;
 import android.support.v7.widget.SearchView;
@@ -38,11 +41,10 @@ import android.view.ViewGroup;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 
-import java.util.List;
 
 @EFragment
 public abstract class BaseMenuFragment extends BaseFragment
-				implements FiltersDialog.IFiltersChangedListener {
+				implements FiltersDialog.IFiltersChangedListener, ScheduleFilterManager.FiltersListener {
 
 	@Bean
 	protected ScheduleFilterManager scheduleFilterManager;
@@ -61,12 +63,25 @@ public abstract class BaseMenuFragment extends BaseFragment
 
 	private MaterialDialog filtersDialog;
 	private String lastQuery;
+	private boolean filtersChangePending;
+
+	@Override
+	public void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		scheduleFilterManager.addListener(this);
+	}
 
 	@AfterViews
 	protected void afterViews() {
 		setHasOptionsMenu(true);
 	}
 
+	@Override
+	public void onDestroy() {
+		scheduleFilterManager.removeListener(this);
+		super.onDestroy();
+	}
+
 	@MenuRes
 	protected abstract int getMenuRes();
 
@@ -106,6 +121,32 @@ public abstract class BaseMenuFragment extends BaseFragment
 
 	@Override
 	public void onFiltersDismissed() {
+		filtersDialog = null;
+		applyPendingFiltersChange();
+	}
+
+	@Override
+	public void onFiltersChanged(ScheduleFilters filters) {
+		markFiltersChanged();
+	}
+
+	@UiThread(propagation = UiThread.Propagation.REUSE)
+	void markFiltersChanged() {
+		filtersChangePending = true;
+		applyPendingFiltersChange();
+	}
+
+	/**
+	 * Changes made in the dialog are applied at once, when it is dismissed.
+	 */
+	private void applyPendingFiltersChange() {
+		if (filtersChangePending && isResumed() && filtersDialog == null) {
+			filtersChangePending = false;
+			onFiltersStateChanged();
+		}
+	}
+
+	protected void onFiltersStateChanged() {
 		if (isActivityLive()) {
 			getActivity().supportInvalidateOptionsMenu();
 			getMainActivity().sendBroadcast(new Intent(
@@ -154,8 +195,9 @@ public abstract class BaseMenuFragment extends BaseFragment
 	private void setupFilterMenuIfNeeded(Context context, Menu menu) {
 		MenuItem menuItem = menu.findItem(R.id.action_filter);
 		if (menuItem != null) {
-			if (scheduleFilterManager.isSomeFiltersActive()) {
-				final int activeFiltersCount = scheduleFilterManager.activeFiltersCount();
+			final ScheduleFilters filters = scheduleFilterManager.getFilters();
+			if (filters.isSomeFiltersActive()) {
+				final int activeFiltersCount = filters.activeFiltersCount();
 				menuItem.setIcon(buildCounterDrawable(context, activeFiltersCount, R.drawable.ic_filter_white_24px,
 								R.layout.toolbar_menu_item_with_badge_view));
 			} else {
@@ -221,6 +263,12 @@ public abstract class BaseMenuFragment extends BaseFragment
 		return query.trim();
 	}
 
+	@Override
+	public void onResume() {
+		super.onResume();
+		applyPendingFiltersChange();
+	}
+
 	@Override
 	public void onPause() {
 		closeFilterDialogIfNeeded();
@@ -235,10 +283,9 @@ public abstract class BaseMenuFragment extends BaseFragment
 
 	@OptionsItem(R.id.action_filter)
 	protected void onFilterClicked() {
-		final List<RealmScheduleDayItemFilter> dayFilters = scheduleFilterManager.getDayFilters();
-		final List<RealmScheduleTrackItemFilter> trackFilters = scheduleFilterManager.getTrackFilters();
-		final List<RealmScheduleCustomFilter> customFilters = scheduleFilterManager.getCustomFilters();
-		filtersDialog = FiltersDialog.showFiltersDialog(getContext(), dayFilters, trackFilters, customFilters, this);
+		final ScheduleFilters filters = scheduleFilterManager.getFilters();
+		filtersDialog = FiltersDialog.showFiltersDialog(getContext(), filters.getDayFilters(),
+						filters.getTrackFilters(), filters.getCustomFilters(), this);
 	}
 
 	@OptionsItem(R.id.action_integration)
@@ -1,8 +1,10 @@
 package com.devoxx.android.fragment.schedule;
 
 import com.annimon.stream.Optional;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.R;
 import com.devoxx.android.adapter.schedule.ScheduleDayLineupAdapter;
+import com.devoxx.android.adapter.schedule.ScheduleLineupDiff;
 import com.devoxx.android.adapter.schedule.model.ScheduleItem;
 import com.devoxx.android.adapter.schedule.model.creator.ScheduleLineupDataCreator;
 import com.devoxx.android.fragment.common.BaseListFragment;
@@ -11,17 +13,21 @@ import com.devoxx.data.DataInformation_;
 import com.devoxx.data.conference.ConferenceManager;
 import com.devoxx.data.schedule.filter.ScheduleFilterManager;
 import com.devoxx.data.schedule.search.SearchManager;
+import com.devoxx.data.user.UserFavouritedTalksManager;
 import com.devoxx.navigation.Navigator;
 import com.devoxx.navigation.NeededUpdateListener;
 
 import org.androidannotations.annotations.AfterInject;
+import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EFragment;
 import org.androidannotations.annotations.FragmentArg;
 import org.androidannotations.annotations.Receiver;
+import org.androidannotations.annotations.UiThread;
 import org.androidannotations.annotations.sharedpreferences.Pref;
 
 import android.content.Intent;
+import android.os.Bundle;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.View;
@@ -30,13 +36,15 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @EFragment(R.layout.fragment_list)
-public class ScheduleLineupFragment extends BaseListFragment implements NeededUpdateListener {
+public class ScheduleLineupFragment extends BaseListFragment
+		implements NeededUpdateListener, UserFavouritedTalksManager.FavouritesListener {
 
 	public static final String REFRESH_ACTION = "com.devoxx.android.intent.REFRESH_ACTION";
 	public static final String REFETCH_DATA_ACTION = "com.devoxx.android.intent.REFETCH_DATA_ACTION";
 
 	private static final long UNKNOWN_LINEUP_TIME = -1;
 	private static final long CHECK_RUNNING_SESSIONS_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+	private static final String LINEUP_UPDATE_SERIAL = "schedule_lineup_update";
 
 	@FragmentArg
 	long lineupDayMs = UNKNOWN_LINEUP_TIME;
@@ -50,6 +58,9 @@ public class ScheduleLineupFragment extends BaseListFragment implements NeededUp
 	@Bean
 	ScheduleLineupDataCreator scheduleLineupDataCreator;
 
+	@Bean
+	UserFavouritedTalksManager userFavouritedTalksManager;
+
 	@Pref
 	DataInformation_ dataInformation;
 
@@ -59,6 +70,18 @@ public class ScheduleLineupFragment extends BaseListFragment implements NeededUp
 		}
 	}
 
+	@Override
+	public void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		userFavouritedTalksManager.addListener(this);
+	}
+
+	@Override
+	public void onDestroy() {
+		userFavouritedTalksManager.removeListener(this);
+		super.onDestroy();
+	}
+
 	@Override
 	protected void afterViews() {
 		super.afterViews();
@@ -96,11 +119,22 @@ public class ScheduleLineupFragment extends BaseListFragment implements NeededUp
 
 	@Receiver(actions = {SearchManager.SEARCH_INTENT_ACTION,
 			ScheduleFilterManager.FILTERS_CHANGED_ACTION}) void onRefreshData() {
-		final String lastQuery = searchManager.getLastQuery();
-		List<ScheduleItem> items = searchManager.handleSearchQuery(lineupDayMs, lastQuery);
-		items = filterManager.applyListFilter(items);
-		scheduleDayLineupAdapter.setData(items);
-		scheduleDayLineupAdapter.notifyDataSetChanged();
+		requestLineupUpdate(false);
+	}
+
+	@Override
+	public void onFavouriteChanged(String talkId, boolean isFavourite) {
+		onFavouritesChanged();
+	}
+
+	/**
+	 * Favourites decide both the starred filter and the order of talks within a slot.
+	 */
+	@UiThread
+	void onFavouritesChanged() {
+		if (isLive()) {
+			requestLineupUpdate(false);
+		}
 	}
 
 	@Override
@@ -133,16 +167,35 @@ public class ScheduleLineupFragment extends BaseListFragment implements NeededUp
 	}
 
 	private void initAdapterWithLastQuery() {
+		requestLineupUpdate(true);
+	}
+
+	private void requestLineupUpdate(boolean allowInitialData) {
 		final String lastQuery = searchManager.getLastQuery();
-		List<ScheduleItem> items;
-		if (!TextUtils.isEmpty(lastQuery)) {
-			items = searchManager.handleSearchQuery(lineupDayMs, lastQuery);
-		} else {
-			items = scheduleLineupDataCreator.prepareInitialData(lineupDayMs);
+		calculateLineupAsync(lastQuery, allowInitialData, scheduleDayLineupAdapter.createSnapshot());
+	}
+
+	@Background(serial = LINEUP_UPDATE_SERIAL)
+	void calculateLineupAsync(String lastQuery, boolean allowInitialData,
+							  ScheduleLineupDiff.Snapshot snapshot) {
+		final Predicate<SlotApiModel> searchMask = allowInitialData && TextUtils.isEmpty(lastQuery)
+				? null : searchManager.createSearchMask(lastQuery);
+		final List<ScheduleItem> items = scheduleLineupDataCreator.prepareResult(
+				lineupDayMs, searchMask, filterManager.createFilterMask(
+						ScheduleFilterManager.FILTER_TRACKS | ScheduleFilterManager.FILTER_FAVOURITES));
+		onLineupCalculated(ScheduleLineupDiff.calculate(snapshot, items), allowInitialData);
+	}
+
+	@UiThread
+	void onLineupCalculated(ScheduleLineupDiff diff, boolean allowInitialData) {
+		if (!isLive()) {
+			return;
+		}
+
+		if (!scheduleDayLineupAdapter.applyDiff(diff)) {
+			// Rows were changed meanwhile (e.g. "more" row toggled), diff against the current ones.
+			requestLineupUpdate(allowInitialData);
 		}
-		items = filterManager.applyListFilter(items);
-		scheduleDayLineupAdapter.setData(items);
-		scheduleDayLineupAdapter.notifyDataSetChanged();
 	}
 
 	@Override
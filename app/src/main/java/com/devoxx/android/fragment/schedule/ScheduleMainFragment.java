@@ -103,25 +103,8 @@ public class ScheduleMainFragment extends BaseMenuFragment
 	}
 
 	@Override
-	public void onFiltersCleared() {
-		super.onFiltersCleared();
-		if (isActivityLive() && isConferenceAvailable()) {
-			invalidateViewPager();
-		}
-	}
-
-	@Override
-	public void onFiltersDismissed() {
-		super.onFiltersDismissed();
-
-		if (isActivityLive() && isConferenceAvailable()) {
-			invalidateViewPager();
-		}
-	}
-
-	@Override
-	public void onFiltersDefault() {
-		super.onFiltersDefault();
+	protected void onFiltersStateChanged() {
+		super.onFiltersStateChanged();
 		if (isActivityLive() && isConferenceAvailable()) {
 			invalidateViewPager();
 		}
@@ -1,8 +1,5 @@
 package com.devoxx.android.fragment.speaker;
 
-import com.annimon.stream.Collectors;
-import com.annimon.stream.Stream;
-import com.annimon.stream.function.Function;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.request.animation.GlideAnimation;
 import com.bumptech.glide.request.target.BitmapImageViewTarget;
@@ -12,7 +9,7 @@ import com.devoxx.connection.Connection;
 import com.devoxx.data.RealmProvider;
 import com.devoxx.data.Settings_;
 import com.devoxx.data.manager.SpeakersDataManager;
-import com.devoxx.data.model.RealmSpeakerShort;
+import com.devoxx.data.schedule.search.SpeakerSearchIndex;
 import com.devoxx.utils.DeviceUtil;
 
 import org.androidannotations.annotations.AfterInject;
@@ -37,10 +34,8 @@ import android.widget.ImageView;
 import android.widget.ListView;
 import android.widget.TextView;
 
-import java.text.Collator;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 @EFragment(R.layout.fragment_speakers)
 public class SpeakersFragment extends BaseMenuFragment {
@@ -70,7 +65,6 @@ public class SpeakersFragment extends BaseMenuFragment {
 	View container;
 
 	private ItemAdapter itemAdapter;
-	private Collator collator;
 
 	@AfterInject void afterInject() {
 		itemAdapter = new ItemAdapter();
@@ -79,23 +73,18 @@ public class SpeakersFragment extends BaseMenuFragment {
 	@AfterViews void afterViewsInternal() {
 		super.afterViews();
 
-		collator = Collator.getInstance();
-		collator.setStrength(Collator.PRIMARY);
-
 		listView.setAdapter(itemAdapter);
 
-		final List<RealmSpeakerShort> speakers =
-				speakersDataManager.getAllShortSpeakers();
-		populateList(speakers);
+		populateList(speakersDataManager.getSpeakerSearchIndex().getSections());
 
 		// By Default open first speaker in landscape mode.
 		if (deviceUtil.isLandscapeTablet()) {
 			navigator.openSpeakerDetails(getActivity(),
-					itemAdapter.getClickedItem(0).getUuid());
+					itemAdapter.getClickedItem(0).uuid);
 		}
 
 		listView.setOnItemClickListener((parent, view, position, id) ->
-				handleSpeakerClick(itemAdapter.getClickedItem(position).getUuid()));
+				handleSpeakerClick(itemAdapter.getClickedItem(position).uuid));
 
 		listView.setOnTouchListener((v, event) -> {
 			if (MotionEventCompat.getActionMasked(event) == MotionEvent.ACTION_DOWN) {
@@ -112,9 +101,7 @@ public class SpeakersFragment extends BaseMenuFragment {
 
 	@Override
 	protected void onSearchQuery(String query) {
-		final List<RealmSpeakerShort> speakers = speakersDataManager.
-				getAllShortSpeakersWithFilter(query);
-		populateList(speakers);
+		populateList(speakersDataManager.getSpeakerSearchIndex().search(query));
 	}
 
 	private void handleSpeakerClick(String speakeruuid) {
@@ -125,32 +112,16 @@ public class SpeakersFragment extends BaseMenuFragment {
 		}
 	}
 
-	private void populateList(List<RealmSpeakerShort> speakers) {
-		final List<SpeakersGroup> list = Stream.of(speakers)
-				.groupBy(speakerFirstLetterGroupping())
-				.map(speakersGroupMapper())
-				.sorted((lhs, rhs) -> collator.compare(lhs.getGroupLetter(), rhs.getGroupLetter()))
-				.collect(Collectors.<SpeakersGroup>toList());
+	private void populateList(List<SpeakerSearchIndex.Section> sections) {
+		final List<SpeakersGroup> list = new ArrayList<>(sections.size());
+		for (SpeakerSearchIndex.Section section : sections) {
+			list.add(new SpeakersGroup(section.letter, section.speakers));
+		}
 
 		itemAdapter.setSpeakers(list);
 		itemAdapter.notifyDataSetChanged();
 	}
 
-	private static Function<Map.Entry<String,
-			List<RealmSpeakerShort>>, SpeakersGroup> speakersGroupMapper() {
-		return value -> {
-			final List<RealmSpeakerShort> list =
-					Stream.of(value.getValue())
-							.sortBy(value1 -> value1.getFirstName().toLowerCase())
-							.collect(Collectors.<RealmSpeakerShort>toList());
-			return new SpeakersGroup(value.getKey(), list);
-		};
-	}
-
-	private static Function<RealmSpeakerShort, String> speakerFirstLetterGroupping() {
-		return value -> value.getFirstName().substring(0, 1).toLowerCase();
-	}
-
 	class ItemAdapter extends BaseAdapter {
 
 		private List<SpeakersGroup> speakers;
@@ -227,9 +198,9 @@ public class SpeakersFragment extends BaseMenuFragment {
 
 		private void setupView(int position, final ViewHolder holder) {
 			final SpeakersGroup group = getItemGroup(position);
-			final RealmSpeakerShort speakerItem = group.getSpeakerByGlobalPosition(position);
+			final SpeakerSearchIndex.Speaker speakerItem = group.getSpeakerByGlobalPosition(position);
 			holder.textSpeaker.setText(String.format("%s %s",
-					speakerItem.getFirstName(), speakerItem.getLastName()));
+					speakerItem.firstName, speakerItem.lastName));
 
 			final boolean shouldLetterBeVisible = position == group.getStartIndex();
 			holder.textLetter.setVisibility(shouldLetterBeVisible ? View.VISIBLE : View.INVISIBLE);
@@ -241,9 +212,9 @@ public class SpeakersFragment extends BaseMenuFragment {
 			setupImage(holder, speakerItem);
 		}
 
-		private void setupImage(final ViewHolder holder, RealmSpeakerShort speakerItem) {
+		private void setupImage(final ViewHolder holder, SpeakerSearchIndex.Speaker speakerItem) {
 			Glide.with(getMainActivity())
-					.load(speakerItem.getAvatarURL())
+					.load(speakerItem.avatarURL)
 					.asBitmap()
 					.centerCrop()
 					.placeholder(R.drawable.ic_speaker_placeholder)
@@ -262,7 +233,7 @@ public class SpeakersFragment extends BaseMenuFragment {
 					});
 		}
 
-		public RealmSpeakerShort getClickedItem(int position) {
+		public SpeakerSearchIndex.Speaker getClickedItem(int position) {
 			return getItemGroup(position).getSpeakerByGlobalPosition(position);
 		}
 
@@ -276,11 +247,11 @@ public class SpeakersFragment extends BaseMenuFragment {
 
 	private static class SpeakersGroup {
 		private String groupLetter;
-		private List<RealmSpeakerShort> speakers;
+		private List<SpeakerSearchIndex.Speaker> speakers;
 
 		private int startIndex, stopIndex;
 
-		public SpeakersGroup(String groupLetter, List<RealmSpeakerShort> speakers) {
+		public SpeakersGroup(String groupLetter, List<SpeakerSearchIndex.Speaker> speakers) {
 			this.groupLetter = groupLetter;
 			this.speakers = speakers;
 		}
@@ -310,7 +281,7 @@ public class SpeakersFragment extends BaseMenuFragment {
 		}
 
 		@NonNull
-		public RealmSpeakerShort getSpeakerByGlobalPosition(int globalPosition) {
+		public SpeakerSearchIndex.Speaker getSpeakerByGlobalPosition(int globalPosition) {
 			return speakers.get(globalPosition - startIndex);
 		}
 	}
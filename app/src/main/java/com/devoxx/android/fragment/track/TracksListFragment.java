@@ -2,16 +2,16 @@ package com.devoxx.android.fragment.track;
 
 import com.annimon.stream.Collectors;
 import com.annimon.stream.Stream;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.R;
 import com.devoxx.android.adapter.track.TracksAdapter;
 import com.devoxx.android.fragment.common.BaseListFragment;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.manager.SlotsDataManager;
-import com.devoxx.data.schedule.filter.model.RealmScheduleDayItemFilter;
+import com.devoxx.data.schedule.filter.ScheduleFilterManager;
 import com.devoxx.data.schedule.search.SearchManager;
 import com.devoxx.navigation.Navigator;
 import com.devoxx.navigation.NeededUpdateListener;
-import com.devoxx.utils.DateUtils;
 
 import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.AfterViews;
@@ -19,7 +19,6 @@ import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EFragment;
 import org.androidannotations.annotations.FragmentArg;
 import org.androidannotations.annotations.Receiver;
-import org.joda.time.DateTime;
 
 import android.support.v7.widget.RecyclerView;
 import android.view.View;
@@ -77,39 +76,14 @@ public class TracksListFragment extends BaseListFragment implements NeededUpdate
 		}
 	}
 
-	private SlotApiModel.FilterPredicate filterPredicate = new SlotApiModel.FilterPredicate();
-
 	private List<SlotApiModel> filterSlotsByDayWithLastQuery(String lastQuery) {
-		filterPredicate.setQuery(lastQuery);
-
-		final List<SlotApiModel> slots =
-				Stream.of(slotsDataManager.getLastTalks())
-						.filter(slot -> {
-							final boolean properTrack = slot.talk != null
-									&& slot.talk.trackId.equalsIgnoreCase(trackId);
-							final boolean properTalk = filterPredicate.test(slot);
-
-							return properTrack && properTalk;
-						})
-						.collect(Collectors.<SlotApiModel>toList());
-
-		final List<RealmScheduleDayItemFilter> dayFilters
-				= filterManager.getActiveDayFilters();
-		final DateTime filterTime = new DateTime();
-		final DateTime slotDate = new DateTime();
-
-		return Stream.of(slots)
-				.filter(value -> {
-					final DateTime rhs = slotDate.withMillis(value.fromTimeMs());
-					for (RealmScheduleDayItemFilter dayFilter : dayFilters) {
-						final DateTime lhs = filterTime.withMillis(dayFilter.getDayMs());
-						if (DateUtils.isSameDay(lhs, rhs)) {
-							return true;
-						}
-					}
-					return false;
-				})
-				.collect(Collectors.toList());
+		final Predicate<SlotApiModel> searchMask = searchManager.createSearchMask(lastQuery);
+		final Predicate<SlotApiModel> dayMask =
+				filterManager.createFilterMask(ScheduleFilterManager.FILTER_DAYS);
+
+		return Stream.of(slotsDataManager.getTalksForTrack(trackId))
+				.filter(value -> searchMask.test(value) && (dayMask == null || dayMask.test(value)))
+				.collect(Collectors.<SlotApiModel>toList());
 	}
 
 	@Override
@@ -2,13 +2,15 @@ package com.devoxx.android.fragment.track;
 
 import com.annimon.stream.Collectors;
 import com.annimon.stream.Stream;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.R;
 import com.devoxx.android.adapter.track.TracksPagerAdapter;
 import com.devoxx.android.dialog.FiltersDialog;
 import com.devoxx.android.fragment.common.BaseMenuFragment;
 import com.devoxx.connection.model.SlotApiModel;
+import com.devoxx.data.cache.TracksMetadataCache;
 import com.devoxx.data.manager.SlotsDataManager;
-import com.devoxx.data.schedule.filter.model.RealmScheduleTrackItemFilter;
+import com.devoxx.data.schedule.filter.ScheduleFilterManager;
 import com.devoxx.data.schedule.search.SearchManager;
 import com.devoxx.navigation.NeededUpdateListener;
 
@@ -35,6 +37,9 @@ public class TracksMainFragment extends BaseMenuFragment
 	@Bean
 	SearchManager searchManager;
 
+	@Bean
+	TracksMetadataCache tracksMetadataCache;
+
 	@ViewById(R.id.tab_layout)
 	TabLayout tabLayout;
 
@@ -55,7 +60,7 @@ public class TracksMainFragment extends BaseMenuFragment
 	@AfterInject void afterInject() {
 		final List<SlotApiModel> slotApiModelList = slotsDataManager.getLastTalks();
 		final List<SlotApiModel> resultList = filterByTrack(slotApiModelList);
-		tracksPagerAdapter = new TracksPagerAdapter(getChildFragmentManager(), resultList);
+		tracksPagerAdapter = new TracksPagerAdapter(getChildFragmentManager(), tracksMetadataCache, resultList);
 	}
 
 	@AfterViews void afterViewsInternal() {
@@ -101,64 +106,34 @@ public class TracksMainFragment extends BaseMenuFragment
 	}
 
 	@Override
-	public void onFiltersCleared() {
-		super.onFiltersCleared();
-		if (isActivityLive()) {
-			invalidateAdapterOnFiltersChange();
-		}
-	}
-
-	@Override
-	public void onFiltersDismissed() {
-		super.onFiltersDismissed();
-		if (isActivityLive()) {
-			invalidateAdapterOnFiltersChange();
-		}
-	}
-
-	@Override
-	public void onFiltersDefault() {
-		super.onFiltersDefault();
+	protected void onFiltersStateChanged() {
+		super.onFiltersStateChanged();
 		if (isActivityLive()) {
 			invalidateAdapterOnFiltersChange();
 		}
 	}
 
 	private List<SlotApiModel> doQuery(String query) {
-		final List<SlotApiModel> slotApiModelList = slotsDataManager.getLastTalks();
-		return Stream.of(slotApiModelList)
-				.filter(new SlotApiModel.FilterPredicate(query))
-				.collect(Collectors.toList());
+		return searchManager.searchTalks(query);
 	}
 
 	private void invalidateAdapterOnFiltersChange() {
 		final List<SlotApiModel> slotApiModelList = slotsDataManager.getLastTalks();
 		final List<SlotApiModel> resultList = filterByTrack(slotApiModelList);
-		tracksPagerAdapter = new TracksPagerAdapter(getChildFragmentManager(), resultList);
+		tracksPagerAdapter = new TracksPagerAdapter(getChildFragmentManager(), tracksMetadataCache, resultList);
 		viewPager.setAdapter(tracksPagerAdapter);
 		tabLayout.setupWithViewPager(viewPager);
 		tracksPagerAdapter.notifyDataSetChanged();
 	}
 
 	private List<SlotApiModel> filterByTrack(List<SlotApiModel> resultList) {
-		final List<RealmScheduleTrackItemFilter> trackFilters
-				= scheduleFilterManager.getActiveTrackFilters();
+		final Predicate<SlotApiModel> trackMask =
+				scheduleFilterManager.createFilterMask(ScheduleFilterManager.FILTER_TRACKS_BY_NAME);
+		if (trackMask == null) {
+			return resultList;
+		}
 		return Stream.of(resultList)
-				.filter(value -> {
-					for (RealmScheduleTrackItemFilter trackFilter : trackFilters) {
-						final String trackName = trackFilter.getTrackName();
-						final String trackId = trackFilter.getTrackId();
-						final String slotTrack = value.talk.track.toLowerCase();
-						final String slotTrackId = value.talk.trackId.toLowerCase();
-						if (value.isTalk() && (slotTrack.equalsIgnoreCase(trackId))
-								|| slotTrack.equalsIgnoreCase(trackName)
-								|| slotTrackId.equalsIgnoreCase(trackId)
-								|| slotTrackId.equalsIgnoreCase(trackName)) {
-							return true;
-						}
-					}
-					return false;
-				})
+				.filter(trackMask)
 				.collect(Collectors.toList());
 	}
 
@@ -43,7 +43,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -218,9 +217,7 @@ public class WearService extends WearableListenerService {
 			return;
 		}
 
-
-		Collections.sort(slotApiModelList);
-
+		// slots of a day are already sorted by start time
 
 		final PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(Constants.CHANNEL_ID + Constants.SLOTS_PATH + "/" + dayMs);
 
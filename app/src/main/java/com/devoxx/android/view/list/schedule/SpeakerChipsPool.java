@@ -0,0 +1,31 @@
+package com.devoxx.android.view.list.schedule;
+
+import com.devoxx.android.view.talk.ScheduleSpeakerView;
+import com.devoxx.android.view.talk.ScheduleSpeakerView_;
+
+import android.content.Context;
+
+import java.util.ArrayDeque;
+
+/**
+ * Speaker chips detached from talk rows, reused by other rows of the same list.
+ * Accessed from the UI thread only.
+ */
+public final class SpeakerChipsPool {
+
+	private static final int MAX_POOL_SIZE = 16;
+
+	private final ArrayDeque<ScheduleSpeakerView> views = new ArrayDeque<>();
+
+	ScheduleSpeakerView obtain(Context context) {
+		final ScheduleSpeakerView view = views.poll();
+		return view != null ? view : ScheduleSpeakerView_.build(context);
+	}
+
+	void release(ScheduleSpeakerView view) {
+		view.clear();
+		if (views.size() < MAX_POOL_SIZE) {
+			views.push(view);
+		}
+	}
+}
@@ -3,14 +3,15 @@ package com.devoxx.android.view.list.schedule;
 import com.bumptech.glide.Glide;
 import com.devoxx.R;
 import com.devoxx.android.view.talk.ScheduleSpeakerView;
-import com.devoxx.android.view.talk.ScheduleSpeakerView_;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.connection.model.TalkBaseApiModel;
 import com.devoxx.connection.model.TalkFullApiModel;
 import com.devoxx.connection.model.TalkSpeakerApiModel;
-import com.devoxx.data.downloader.TracksDownloader;
+import com.devoxx.data.cache.TimeLabelsCache;
+import com.devoxx.data.cache.TracksMetadataCache;
 import com.devoxx.data.manager.SpeakersDataManager;
 import com.devoxx.data.user.UserFavouritedTalksManager;
+import com.devoxx.utils.ThemeAttributes;
 import com.google.android.flexbox.FlexboxLayout;
 
 import org.androidannotations.annotations.AfterViews;
@@ -19,27 +20,30 @@ import org.androidannotations.annotations.EViewGroup;
 import org.androidannotations.annotations.ViewById;
 import org.androidannotations.annotations.res.ColorRes;
 import org.androidannotations.annotations.res.DimensionPixelOffsetRes;
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormat;
 
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.PorterDuff;
-import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.view.Gravity;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @EViewGroup(R.layout.list_item_talk)
 public class TalkItemView extends LinearLayout {
 
-	private static final String DAY_TEXT_FORMAT = "EEE dd"; // WED 11
+	/**
+	 * With more speakers the last chip is replaced by "+N" label.
+	 */
+	private static final int MAX_SPEAKER_CHIPS = 3;
 
 	@ViewById(R.id.list_item_talk_title)
 	TextView title;
@@ -76,7 +80,10 @@ public class TalkItemView extends LinearLayout {
 	@DimensionPixelOffsetRes(R.dimen.value_4dp) int margin;
 
 	@Bean
-	TracksDownloader tracksDownloader;
+	TracksMetadataCache tracksMetadataCache;
+
+	@Bean
+	TimeLabelsCache timeLabelsCache;
 
 	@Bean
 	SpeakersDataManager speakersDataManager;
@@ -84,12 +91,30 @@ public class TalkItemView extends LinearLayout {
 	@Bean
 	UserFavouritedTalksManager userFavouritedTalksManager;
 
+	private final List<ScheduleSpeakerView> speakerChips = new ArrayList<>(MAX_SPEAKER_CHIPS);
+	private SpeakerChipsPool speakerChipsPool = new SpeakerChipsPool();
+	private TextView speakersOverflow;
+
 	@AfterViews void afterViews() {
 		setOrientation(VERTICAL);
 		setGravity(Gravity.CENTER_VERTICAL);
 		setLayoutParams(new ViewGroup.LayoutParams(
 				ViewGroup.LayoutParams.MATCH_PARENT,
 				ViewGroup.LayoutParams.WRAP_CONTENT));
+
+		speakersOverflow = (TextView) LayoutInflater.from(getContext()).inflate(
+				R.layout.schedule_item_speaker_overflow, speakersContainer, false);
+		speakersContainer.addView(speakersOverflow);
+
+		setBackground(ThemeAttributes.getDrawable(getContext(), android.R.attr.selectableItemBackground));
+	}
+
+	/**
+	 * Shares speaker chips with other rows of the list.
+	 */
+	public TalkItemView withSpeakerChipsPool(SpeakerChipsPool pool) {
+		speakerChipsPool = pool;
+		return this;
 	}
 
 	public TalkItemView setupTalk(SlotApiModel slotModel) {
@@ -99,33 +124,21 @@ public class TalkItemView extends LinearLayout {
 			place.setText(slotModel.roomName);
 			track.setText("");
 			trackIcon.setImageDrawable(null);
+			setupSpeakers(null);
 		} else {
 			final TalkFullApiModel talkModel = slotModel.talk;
 			title.setText(talkModel.title);
 			track.setText(talkModel.track);
 			place.setText(slotModel.roomName);
 
-			final DateTime date = slotModel.fromTime();
-			final String dateRaw = date.toString(DateTimeFormat.forPattern(DAY_TEXT_FORMAT));
-			time.setText(String.format("%s, %s-%s", dateRaw, slotModel.fromTime, slotModel.toTime));
+			time.setText(timeLabelsCache.getTalkTimeLabel(slotModel));
 
 			Glide.with(getContext())
 					.load(obtainTrackIconUrl(talkModel))
 					.placeholder(R.drawable.th_background)
 					.into(trackIcon);
 
-			speakersContainer.removeAllViews();
-
-			for (TalkSpeakerApiModel speaker : slotModel.talk.speakers) {
-				final ScheduleSpeakerView speakerView = ScheduleSpeakerView_.build(getContext());
-				final String uuid = TalkSpeakerApiModel.getUuidFromLink(speaker.link);
-				final String url = speakersDataManager.imageUrlByUuid(uuid);
-				speakerView.setupView(speaker.name, url);
-
-				final FlexboxLayout.LayoutParams lp = new FlexboxLayout.LayoutParams(
-						ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
-				speakersContainer.addView(speakerView, lp);
-			}
+			setupSpeakers(talkModel.speakers);
 		}
 
 		if (userFavouritedTalksManager.isFavouriteTalk(slotModel.slotId)) {
@@ -135,11 +148,47 @@ public class TalkItemView extends LinearLayout {
 			scheduleIcon.setVisibility(View.GONE);
 		}
 
-		setupNormalBackground();
-
 		return this;
 	}
 
+	/**
+	 * Reuses chips the row already has, missing ones are taken from the pool and
+	 * redundant ones are returned to it.
+	 */
+	private void setupSpeakers(List<TalkSpeakerApiModel> speakers) {
+		final int count = speakers != null ? speakers.size() : 0;
+		final int chipsCount = count > MAX_SPEAKER_CHIPS ? MAX_SPEAKER_CHIPS - 1 : count;
+
+		while (speakerChips.size() > chipsCount) {
+			final ScheduleSpeakerView chip = speakerChips.remove(speakerChips.size() - 1);
+			speakersContainer.removeView(chip);
+			speakerChipsPool.release(chip);
+		}
+
+		while (speakerChips.size() < chipsCount) {
+			final ScheduleSpeakerView chip = speakerChipsPool.obtain(getContext());
+			if (chip.getLayoutParams() == null) {
+				chip.setLayoutParams(new FlexboxLayout.LayoutParams(
+						ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+			}
+			speakersContainer.addView(chip, speakerChips.size());
+			speakerChips.add(chip);
+		}
+
+		for (int i = 0; i < chipsCount; i++) {
+			final TalkSpeakerApiModel speaker = speakers.get(i);
+			final String uuid = TalkSpeakerApiModel.getUuidFromLink(speaker.link);
+			speakerChips.get(i).setupView(speaker.name, speakersDataManager.imageUrlByUuid(uuid));
+		}
+
+		if (count > chipsCount) {
+			speakersOverflow.setText("+" + (count - chipsCount));
+			speakersOverflow.setVisibility(View.VISIBLE);
+		} else {
+			speakersOverflow.setVisibility(View.GONE);
+		}
+	}
+
 	public void showRunningIndicator(boolean show) {
 		runningSecondIndicator.setVisibility(show ? VISIBLE : INVISIBLE);
 	}
@@ -152,7 +201,7 @@ public class TalkItemView extends LinearLayout {
 	}
 
 	private String obtainTrackIconUrl(TalkBaseApiModel slotModel) {
-		return tracksDownloader.getTrackIconUrl(slotModel.trackId);
+		return tracksMetadataCache.getTrackIconUrl(slotModel.trackId);
 	}
 
 	public TalkItemView(Context context) {
@@ -180,12 +229,4 @@ public class TalkItemView extends LinearLayout {
 	public void withTime() {
 		timeContainer.setVisibility(View.VISIBLE);
 	}
-
-	private void setupNormalBackground() {
-		int[] attrs = new int[]{android.R.attr.selectableItemBackground};
-		TypedArray ta = getContext().getTheme().obtainStyledAttributes(attrs);
-		Drawable drawableFromTheme = ta.getDrawable(0);
-		ta.recycle();
-		setBackground(drawableFromTheme);
-	}
 }
@@ -2,10 +2,9 @@ package com.devoxx.android.view.list.schedule;
 
 import com.devoxx.R;
 import com.devoxx.android.adapter.schedule.model.TalksScheduleItem;
-import com.devoxx.data.downloader.TracksDownloader;
+import com.devoxx.utils.ThemeAttributes;
 
 import org.androidannotations.annotations.AfterViews;
-import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EViewGroup;
 import org.androidannotations.annotations.ViewById;
 import org.androidannotations.annotations.res.DimensionPixelOffsetRes;
@@ -13,8 +12,6 @@ import org.androidannotations.annotations.res.IntegerRes;
 
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.view.Gravity;
@@ -51,9 +48,6 @@ public class TalksMoreItemView extends LinearLayout {
 	@IntegerRes(android.R.integer.config_shortAnimTime)
 	int toggleAnimTime;
 
-	@Bean
-	TracksDownloader tracksDownloader;
-
 	@AfterViews void afterViews() {
 		setOrientation(VERTICAL);
 		setGravity(Gravity.CENTER_VERTICAL);
@@ -85,11 +79,7 @@ public class TalksMoreItemView extends LinearLayout {
 	}
 
 	private void setupBackground() {
-		int[] attrs = new int[]{android.R.attr.selectableItemBackground};
-		TypedArray ta = getContext().getTheme().obtainStyledAttributes(attrs);
-		Drawable drawableFromTheme = ta.getDrawable(0);
-		ta.recycle();
-		setBackground(drawableFromTheme);
+		setBackground(ThemeAttributes.getDrawable(getContext(), android.R.attr.selectableItemBackground));
 	}
 
 	public TalksMoreItemView(Context context) {
@@ -2,6 +2,7 @@ package com.devoxx.android.view.speaker;
 
 import com.devoxx.R;
 import com.devoxx.android.fragment.talk.TalkFragment;
+import com.devoxx.utils.ThemeAttributes;
 
 import org.androidannotations.annotations.AfterViews;
 import org.androidannotations.annotations.EViewGroup;
@@ -11,8 +12,6 @@ import org.joda.time.format.DateTimeFormat;
 
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.widget.LinearLayout;
@@ -50,11 +49,7 @@ public class SpeakerDetailsTalkItem extends LinearLayout {
 	}
 
 	private void setupBackground() {
-		int[] attrs = new int[]{android.R.attr.selectableItemBackground};
-		TypedArray ta = getContext().getTheme().obtainStyledAttributes(attrs);
-		Drawable drawableFromTheme = ta.getDrawable(0);
-		ta.recycle();
-		setBackground(drawableFromTheme);
+		setBackground(ThemeAttributes.getDrawable(getContext(), android.R.attr.selectableItemBackground));
 	}
 
 	public SpeakerDetailsTalkItem(Context context) {
@@ -75,6 +75,14 @@ public class ScheduleSpeakerView extends LinearLayout {
 				});
 	}
 
+	/**
+	 * Drops pending avatar request, the view is going to be reused for another speaker.
+	 */
+	public void clear() {
+		Glide.clear(imageView);
+		imageView.setImageDrawable(null);
+	}
+
 	@Override protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
 		super.onMeasure(widthMeasureSpec, heightMeasureSpec);
 
@@ -1,11 +1,11 @@
 package com.devoxx.connection;
 
 import com.annimon.stream.Optional;
-import com.devoxx.BuildConfig;
 import com.devoxx.Configuration;
 import com.devoxx.connection.cfp.CfpApi;
 import com.devoxx.data.conference.ConferenceManager;
-import com.devoxx.data.model.RealmConference;
+import com.devoxx.data.conference.model.ActiveConference;
+import com.devoxx.utils.Logger;
 
 import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.Bean;
@@ -17,13 +17,14 @@ import org.androidannotations.annotations.sharedpreferences.Pref;
 import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
+import android.support.annotation.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 @EBean(scope = EBean.Scope.Singleton)
 public class Connection {
@@ -40,43 +41,73 @@ public class Connection {
 	@Bean
 	ConferenceManager conferenceManager;
 
-	private DevoxxApi devoxxApi;
+	@Bean
+	HttpClientCore httpClientCore;
+
+	private static final String HTTP_CACHE_DIR = "http_cache";
+	private static final long HTTP_CACHE_SIZE_BYTES = 10 * 1024 * 1024;
+
+	private volatile DevoxxApi devoxxApi;
 	private CfpApi cfpApi;
+	private Cache httpCache;
+	private OkHttpClient conferenceClient;
+	private final HttpCacheStats httpCacheStats = new HttpCacheStats();
 
 	@AfterInject void afterInject() {
 		initiCfpApi();
+		conferenceManager.addActiveConferenceListener(this::onActiveConferenceChanged);
+	}
+
+	private void onActiveConferenceChanged(@Nullable ActiveConference conference) {
+		final String cfpUrl = conference != null ? conference.getCfpUrl() : null;
+		if (cfpUrl == null || !cfpUrl.equals(getActiveConferenceApiUrl())) {
+			// built again for the new endpoint on next use
+			devoxxApi = null;
+		}
 	}
 
 	public void setupConferenceApi(String conferenceEndpoint) {
 		connectionConfigurationStore.edit().activeConferenceApiUrl()
 				.put(conferenceEndpoint).apply();
 
-		final OkHttpClient.Builder builder = new OkHttpClient.Builder();
-
-		if (BuildConfig.DEBUG) {
-			final HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor();
-			httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-			builder.addInterceptor(httpLoggingInterceptor);
+		// the client survives conference switches, only the base url changes
+		if (conferenceClient == null) {
+			conferenceClient = httpClientCore.newClientBuilder()
+					.cache(getHttpCache())
+					.addInterceptor(new NotModifiedInterceptor(httpCacheStats))
+					.build();
 		}
 
-		final Retrofit retrofit = new Retrofit.Builder()
-				.baseUrl(conferenceEndpoint)
-				.client(builder.build())
-				.addConverterFactory(GsonConverterFactory.create())
-				.build();
-		devoxxApi = retrofit.create(DevoxxApi.class);
+		devoxxApi = httpClientCore.createRetrofit(conferenceEndpoint, conferenceClient)
+				.create(DevoxxApi.class);
 	}
 
 	public DevoxxApi getDevoxxApi() {
 		if (devoxxApi == null) {
-			final Optional<RealmConference> conference = conferenceManager.getActiveConference();
+			final Optional<ActiveConference> conference = conferenceManager.getActiveConferenceDescriptor();
 			if (conference.isPresent()) {
-				setupConferenceApi(conference.get().getCfpURL());
+				setupConferenceApi(conference.get().getCfpUrl());
 			}
 		}
 		return devoxxApi;
 	}
 
+	public HttpCacheStats getHttpCacheStats() {
+		return httpCacheStats;
+	}
+
+	/**
+	 * Must be called whenever stored conference data is dropped,
+	 * otherwise a 304 could be answered for data we no longer have.
+	 */
+	public void clearHttpCache() {
+		try {
+			getHttpCache().evictAll();
+		} catch (IOException e) {
+			Logger.exc(e);
+		}
+	}
+
 	public CfpApi getCfpApi() {
 		return cfpApi;
 	}
@@ -86,23 +117,20 @@ public class Connection {
 	}
 
 	private void initiCfpApi() {
-		final OkHttpClient.Builder builder = new OkHttpClient.Builder();
-
-		if (BuildConfig.DEBUG) {
-			final HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor();
-			httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-			builder.addInterceptor(httpLoggingInterceptor);
-		}
+		final OkHttpClient client = httpClientCore.newClientBuilder()
+				.connectTimeout(3, TimeUnit.SECONDS)
+				.readTimeout(3, TimeUnit.SECONDS)
+				.build();
 
-		builder.connectTimeout(3, TimeUnit.SECONDS);
-		builder.readTimeout(3, TimeUnit.SECONDS);
+		cfpApi = httpClientCore.createRetrofit(Configuration.CFP_API_URL, client)
+				.create(CfpApi.class);
+	}
 
-		final Retrofit retrofit = new Retrofit.Builder()
-				.baseUrl(Configuration.CFP_API_URL)
-				.client(builder.build())
-				.addConverterFactory(GsonConverterFactory.create())
-				.build();
-		cfpApi = retrofit.create(CfpApi.class);
+	private synchronized Cache getHttpCache() {
+		if (httpCache == null) {
+			httpCache = new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES);
+		}
+		return httpCache;
 	}
 
 	public boolean isOnline() {
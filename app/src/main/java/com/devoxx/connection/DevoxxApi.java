@@ -12,21 +12,25 @@ import java.util.List;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Path;
 import retrofit2.http.Url;
 
 public interface DevoxxApi {
 
+	@Headers(NotModifiedInterceptor.CONDITIONAL_HEADER + ": true")
 	@GET("/api/conferences/{confCode}/speakers") Call<List<SpeakerShortApiModel>> speakers(
 			@Path("confCode") String confCode
 	);
 
+	@Headers(NotModifiedInterceptor.CONDITIONAL_HEADER + ": true")
 	@GET("/api/conferences/{confCode}/schedules/{dayOfWeek}")
 	Call<SpecificScheduleApiModel> specificSchedule(
 			@Path("confCode") String confCode,
 			@Path("dayOfWeek") String dayOfWeek
 	);
 
+	@Headers(NotModifiedInterceptor.CONDITIONAL_HEADER + ": true")
 	@GET("/api/conferences/{confCode}/speakers/{uuid}") Call<ResponseBody> speaker(
 			@Path("confCode") String confCode,
 			@Path("uuid") String uuid
@@ -36,6 +40,7 @@ public interface DevoxxApi {
 			@Url String url
 	);
 
+	@Headers(NotModifiedInterceptor.CONDITIONAL_HEADER + ": true")
 	@GET("/api/conferences/{confCode}/tracks") Call<TracksApiModel> tracks(
 			@Path("confCode") String confCode
 	);
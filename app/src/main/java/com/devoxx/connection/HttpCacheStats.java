@@ -0,0 +1,76 @@
+package com.devoxx.connection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache outcomes and timings of conference API requests, such as the per-day schedule downloads.
+ */
+public class HttpCacheStats {
+
+	private final AtomicInteger hitCount = new AtomicInteger();
+	private final AtomicInteger missCount = new AtomicInteger();
+	private final AtomicInteger notModifiedCount = new AtomicInteger();
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final AtomicLong totalRequestMs = new AtomicLong();
+	private final AtomicLong maxRequestMs = new AtomicLong();
+
+	void onHit() {
+		hitCount.incrementAndGet();
+	}
+
+	void onMiss() {
+		missCount.incrementAndGet();
+	}
+
+	void onNotModified() {
+		notModifiedCount.incrementAndGet();
+	}
+
+	void onRequestFinished(long durationMs) {
+		requestCount.incrementAndGet();
+		totalRequestMs.addAndGet(durationMs);
+
+		long max = maxRequestMs.get();
+		while (durationMs > max && !maxRequestMs.compareAndSet(max, durationMs)) {
+			max = maxRequestMs.get();
+		}
+	}
+
+	public int getHitCount() {
+		return hitCount.get();
+	}
+
+	public int getMissCount() {
+		return missCount.get();
+	}
+
+	public int getNotModifiedCount() {
+		return notModifiedCount.get();
+	}
+
+	public int getRequestCount() {
+		return requestCount.get();
+	}
+
+	public long getAverageRequestMs() {
+		final int count = requestCount.get();
+		return count > 0 ? totalRequestMs.get() / count : 0;
+	}
+
+	public long getMaxRequestMs() {
+		return maxRequestMs.get();
+	}
+
+	@Override
+	public String toString() {
+		return "HttpCacheStats{" +
+				"hit=" + hitCount.get() +
+				", miss=" + missCount.get() +
+				", notModified=" + notModifiedCount.get() +
+				", requests=" + requestCount.get() +
+				", avgMs=" + getAverageRequestMs() +
+				", maxMs=" + maxRequestMs.get() +
+				'}';
+	}
+}
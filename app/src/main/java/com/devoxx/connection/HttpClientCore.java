@@ -0,0 +1,59 @@
+package com.devoxx.connection;
+
+import com.devoxx.BuildConfig;
+import com.devoxx.connection.model.ApiGson;
+import com.google.gson.Gson;
+
+import org.androidannotations.annotations.EBean;
+
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * One OkHttp client shared by all APIs of the app. Clients for specific APIs are derived
+ * with {@link OkHttpClient#newBuilder()}, so they reuse its connection pool and dispatcher.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class HttpClientCore {
+
+	private final OkHttpClient baseClient;
+	private final Gson gson;
+	private final Converter.Factory converterFactory;
+
+	public HttpClientCore() {
+		final OkHttpClient.Builder builder = new OkHttpClient.Builder();
+
+		if (BuildConfig.DEBUG) {
+			final HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor();
+			httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+			builder.addInterceptor(httpLoggingInterceptor);
+		}
+
+		baseClient = builder.build();
+		gson = ApiGson.get();
+		converterFactory = GsonConverterFactory.create(gson);
+	}
+
+	public OkHttpClient getClient() {
+		return baseClient;
+	}
+
+	public OkHttpClient.Builder newClientBuilder() {
+		return baseClient.newBuilder();
+	}
+
+	public Gson getGson() {
+		return gson;
+	}
+
+	public Retrofit createRetrofit(String baseUrl, OkHttpClient client) {
+		return new Retrofit.Builder()
+				.baseUrl(baseUrl)
+				.client(client)
+				.addConverterFactory(converterFactory)
+				.build();
+	}
+}
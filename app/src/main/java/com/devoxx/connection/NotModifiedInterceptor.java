@@ -0,0 +1,72 @@
+package com.devoxx.connection;
+
+import com.devoxx.utils.Logger;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Requests marked with {@link #CONDITIONAL_HEADER} are always revalidated against the server.
+ * When the server answers 304, the cached body is dropped and the 304 is passed on,
+ * so Retrofit does not parse it and callers can keep the data they already stored.
+ */
+class NotModifiedInterceptor implements Interceptor {
+
+	static final String CONDITIONAL_HEADER = "X-Devoxx-Conditional";
+
+	private static final CacheControl REVALIDATE = new CacheControl.Builder()
+			.maxAge(0, TimeUnit.SECONDS).build();
+
+	private final HttpCacheStats stats;
+
+	NotModifiedInterceptor(HttpCacheStats stats) {
+		this.stats = stats;
+	}
+
+	@Override public Response intercept(Chain chain) throws IOException {
+		final Request original = chain.request();
+		final boolean conditional = original.header(CONDITIONAL_HEADER) != null;
+
+		final Request request = conditional ? original.newBuilder()
+				.removeHeader(CONDITIONAL_HEADER)
+				.cacheControl(REVALIDATE)
+				.build() : original;
+
+		final long startMs = System.currentTimeMillis();
+		final Response response = chain.proceed(request);
+		// time to headers, the body is read later by the caller
+		stats.onRequestFinished(System.currentTimeMillis() - startMs);
+		final Response networkResponse = response.networkResponse();
+
+		if (response.cacheResponse() == null) {
+			stats.onMiss();
+		} else if (networkResponse == null) {
+			stats.onHit();
+		} else if (networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			stats.onNotModified();
+			Logger.l("Not modified: " + request.url() + ", " + stats);
+
+			if (conditional) {
+				final ResponseBody cachedBody = response.body();
+				cachedBody.close();
+				return response.newBuilder()
+						.code(HttpURLConnection.HTTP_NOT_MODIFIED)
+						.message("Not Modified")
+						.body(ResponseBody.create(cachedBody.contentType(), new byte[0]))
+						.build();
+			}
+		} else {
+			// cached entry was stale and the server sent a new body
+			stats.onMiss();
+		}
+
+		return response;
+	}
+}
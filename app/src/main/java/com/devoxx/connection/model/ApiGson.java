@@ -0,0 +1,21 @@
+package com.devoxx.connection.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Gson instance shared by Retrofit and the caches, with the api models adapters registered once.
+ */
+public final class ApiGson {
+
+	private static final Gson GSON = new GsonBuilder()
+			.registerTypeAdapterFactory(new ApiModelsTypeAdapterFactory())
+			.create();
+
+	private ApiGson() {
+	}
+
+	public static Gson get() {
+		return GSON;
+	}
+}
@@ -0,0 +1,537 @@
+package com.devoxx.connection.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming adapters for the models parsed on hot paths (schedule, speakers list, tracks),
+ * so Gson does not fall back to reflection for them. Field names match the reflective
+ * format, data cached before still reads fine.
+ */
+public class ApiModelsTypeAdapterFactory implements TypeAdapterFactory {
+
+	@SuppressWarnings("unchecked")
+	@Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		final Class<? super T> rawType = type.getRawType();
+		if (rawType == SpecificScheduleApiModel.class) {
+			return (TypeAdapter<T>) SPECIFIC_SCHEDULE;
+		} else if (rawType == SlotApiModel.class) {
+			return (TypeAdapter<T>) SLOT;
+		} else if (rawType == TalkFullApiModel.class) {
+			return (TypeAdapter<T>) TALK_FULL;
+		} else if (rawType == TalkSpeakerApiModel.class) {
+			return (TypeAdapter<T>) TALK_SPEAKER;
+		} else if (rawType == BreakApiModel.class) {
+			return (TypeAdapter<T>) BREAK;
+		} else if (rawType == RoomApiModel.class) {
+			return (TypeAdapter<T>) ROOM;
+		} else if (rawType == LinkApiModel.class) {
+			return (TypeAdapter<T>) LINK;
+		} else if (rawType == SpeakerShortApiModel.class) {
+			return (TypeAdapter<T>) SPEAKER_SHORT;
+		} else if (rawType == TracksApiModel.class) {
+			return (TypeAdapter<T>) TRACKS;
+		} else if (rawType == TrackApiModel.class) {
+			return (TypeAdapter<T>) TRACK;
+		}
+		return null;
+	}
+
+	private static abstract class ModelAdapter<T> extends TypeAdapter<T> {
+
+		abstract T create();
+
+		/**
+		 * @return false if the field is unknown and has to be skipped
+		 */
+		abstract boolean readField(JsonReader in, String name, T model) throws IOException;
+
+		abstract void writeFields(JsonWriter out, T model) throws IOException;
+
+		@Override public T read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+
+			final T model = create();
+			in.beginObject();
+			while (in.hasNext()) {
+				if (!readField(in, in.nextName(), model)) {
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return model;
+		}
+
+		@Override public void write(JsonWriter out, T model) throws IOException {
+			if (model == null) {
+				out.nullValue();
+				return;
+			}
+
+			out.beginObject();
+			writeFields(out, model);
+			out.endObject();
+		}
+	}
+
+	private static final ModelAdapter<LinkApiModel> LINK = new ModelAdapter<LinkApiModel>() {
+		@Override LinkApiModel create() {
+			return new LinkApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, LinkApiModel model) throws IOException {
+			switch (name) {
+				case "href":
+					model.href = readString(in);
+					return true;
+				case "rel":
+					model.rel = readString(in);
+					return true;
+				case "title":
+					model.title = readString(in);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, LinkApiModel model) throws IOException {
+			out.name("href").value(model.href);
+			out.name("rel").value(model.rel);
+			out.name("title").value(model.title);
+		}
+	};
+
+	private static final ModelAdapter<RoomApiModel> ROOM = new ModelAdapter<RoomApiModel>() {
+		@Override RoomApiModel create() {
+			return new RoomApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, RoomApiModel model) throws IOException {
+			switch (name) {
+				case "id":
+					model.id = readString(in);
+					return true;
+				case "name":
+					model.name = readString(in);
+					return true;
+				case "setup":
+					model.setup = readString(in);
+					return true;
+				case "capacity":
+					model.capacity = readInt(in);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, RoomApiModel model) throws IOException {
+			out.name("id").value(model.id);
+			out.name("name").value(model.name);
+			out.name("setup").value(model.setup);
+			out.name("capacity").value(model.capacity);
+		}
+	};
+
+	private static final ModelAdapter<TalkSpeakerApiModel> TALK_SPEAKER = new ModelAdapter<TalkSpeakerApiModel>() {
+		@Override TalkSpeakerApiModel create() {
+			return new TalkSpeakerApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, TalkSpeakerApiModel model) throws IOException {
+			switch (name) {
+				case "name":
+					model.name = readString(in);
+					return true;
+				case "link":
+					model.link = LINK.read(in);
+					return true;
+				default:
+					return readSpeakerBaseField(in, name, model);
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, TalkSpeakerApiModel model) throws IOException {
+			writeSpeakerBaseFields(out, model);
+			out.name("name").value(model.name);
+			out.name("link");
+			LINK.write(out, model.link);
+		}
+	};
+
+	private static final ModelAdapter<SpeakerShortApiModel> SPEAKER_SHORT = new ModelAdapter<SpeakerShortApiModel>() {
+		@Override SpeakerShortApiModel create() {
+			return new SpeakerShortApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, SpeakerShortApiModel model) throws IOException {
+			if ("links".equals(name)) {
+				model.links = readList(in, LINK);
+				return true;
+			}
+			return readSpeakerBaseField(in, name, model);
+		}
+
+		@Override void writeFields(JsonWriter out, SpeakerShortApiModel model) throws IOException {
+			writeSpeakerBaseFields(out, model);
+			out.name("links");
+			writeList(out, model.links, LINK);
+		}
+	};
+
+	private static final ModelAdapter<TalkFullApiModel> TALK_FULL = new ModelAdapter<TalkFullApiModel>() {
+		@Override TalkFullApiModel create() {
+			return new TalkFullApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, TalkFullApiModel model) throws IOException {
+			switch (name) {
+				case "summaryAsHtml":
+					model.summaryAsHtml = readString(in);
+					return true;
+				case "lang":
+					model.lang = readString(in);
+					return true;
+				case "summary":
+					model.summary = readString(in);
+					return true;
+				case "speakers":
+					model.speakers = readList(in, TALK_SPEAKER);
+					return true;
+				default:
+					return readTalkBaseField(in, name, model);
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, TalkFullApiModel model) throws IOException {
+			writeTalkBaseFields(out, model);
+			out.name("summaryAsHtml").value(model.summaryAsHtml);
+			out.name("lang").value(model.lang);
+			out.name("summary").value(model.summary);
+			out.name("speakers");
+			writeList(out, model.speakers, TALK_SPEAKER);
+		}
+	};
+
+	private static final ModelAdapter<BreakApiModel> BREAK = new ModelAdapter<BreakApiModel>() {
+		@Override BreakApiModel create() {
+			return new BreakApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, BreakApiModel model) throws IOException {
+			switch (name) {
+				case "id":
+					model.id = readString(in);
+					return true;
+				case "nameEN":
+					model.nameEN = readString(in);
+					return true;
+				case "nameFR":
+					model.nameFR = readString(in);
+					return true;
+				case "room":
+					model.room = ROOM.read(in);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, BreakApiModel model) throws IOException {
+			out.name("id").value(model.id);
+			out.name("nameEN").value(model.nameEN);
+			out.name("nameFR").value(model.nameFR);
+			out.name("room");
+			ROOM.write(out, model.room);
+		}
+	};
+
+	private static final ModelAdapter<SlotApiModel> SLOT = new ModelAdapter<SlotApiModel>() {
+		@Override SlotApiModel create() {
+			return new SlotApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, SlotApiModel model) throws IOException {
+			switch (name) {
+				case "break":
+					model.slotBreak = BREAK.read(in);
+					return true;
+				case "talk":
+					model.talk = TALK_FULL.read(in);
+					return true;
+				case "roomId":
+					model.roomId = readString(in);
+					return true;
+				case "roomSetup":
+					model.roomSetup = readString(in);
+					return true;
+				case "toTime":
+					model.toTime = readString(in);
+					return true;
+				case "fromTime":
+					model.fromTime = readString(in);
+					return true;
+				case "roomName":
+					model.roomName = readString(in);
+					return true;
+				case "slotId":
+					model.slotId = readString(in);
+					return true;
+				case "day":
+					model.day = readString(in);
+					return true;
+				case "notAllocated":
+					model.notAllocated = readBoolean(in);
+					return true;
+				case "fromTimeMillis":
+					model.fromTimeMillis = readLong(in);
+					return true;
+				case "toTimeMillis":
+					model.toTimeMillis = readLong(in);
+					return true;
+				case "roomCapacity":
+					model.roomCapacity = readInt(in);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, SlotApiModel model) throws IOException {
+			out.name("break");
+			BREAK.write(out, model.slotBreak);
+			out.name("talk");
+			TALK_FULL.write(out, model.talk);
+			out.name("roomId").value(model.roomId);
+			out.name("roomSetup").value(model.roomSetup);
+			out.name("toTime").value(model.toTime);
+			out.name("fromTime").value(model.fromTime);
+			out.name("roomName").value(model.roomName);
+			out.name("slotId").value(model.slotId);
+			out.name("day").value(model.day);
+			out.name("notAllocated").value(model.notAllocated);
+			out.name("fromTimeMillis").value(model.fromTimeMillis);
+			out.name("toTimeMillis").value(model.toTimeMillis);
+			out.name("roomCapacity").value(model.roomCapacity);
+		}
+	};
+
+	private static final TypeAdapter<SpecificScheduleApiModel> SPECIFIC_SCHEDULE = new TypeAdapter<SpecificScheduleApiModel>() {
+		@Override public SpecificScheduleApiModel read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+
+			List<SlotApiModel> slots = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				if ("slots".equals(in.nextName())) {
+					slots = readList(in, SLOT);
+				} else {
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return new SpecificScheduleApiModel(slots);
+		}
+
+		@Override public void write(JsonWriter out, SpecificScheduleApiModel model) throws IOException {
+			if (model == null) {
+				out.nullValue();
+				return;
+			}
+
+			out.beginObject();
+			out.name("slots");
+			writeList(out, model.slots, SLOT);
+			out.endObject();
+		}
+	};
+
+	private static final ModelAdapter<TrackApiModel> TRACK = new ModelAdapter<TrackApiModel>() {
+		@Override TrackApiModel create() {
+			return new TrackApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, TrackApiModel model) throws IOException {
+			switch (name) {
+				case "id":
+					model.id = readString(in);
+					return true;
+				case "imgsrc":
+					model.imgsrc = readString(in);
+					return true;
+				case "title":
+					model.title = readString(in);
+					return true;
+				case "description":
+					model.description = readString(in);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, TrackApiModel model) throws IOException {
+			out.name("id").value(model.id);
+			out.name("imgsrc").value(model.imgsrc);
+			out.name("title").value(model.title);
+			out.name("description").value(model.description);
+		}
+	};
+
+	private static final ModelAdapter<TracksApiModel> TRACKS = new ModelAdapter<TracksApiModel>() {
+		@Override TracksApiModel create() {
+			return new TracksApiModel();
+		}
+
+		@Override boolean readField(JsonReader in, String name, TracksApiModel model) throws IOException {
+			switch (name) {
+				case "content":
+					model.content = readString(in);
+					return true;
+				case "tracks":
+					model.tracks = readList(in, TRACK);
+					return true;
+				default:
+					return false;
+			}
+		}
+
+		@Override void writeFields(JsonWriter out, TracksApiModel model) throws IOException {
+			out.name("content").value(model.content);
+			out.name("tracks");
+			writeList(out, model.tracks, TRACK);
+		}
+	};
+
+	private static boolean readSpeakerBaseField(JsonReader in, String name, SpeakerBaseApiModel model) throws IOException {
+		switch (name) {
+			case "uuid":
+				model.uuid = readString(in);
+				return true;
+			case "firstName":
+				model.firstName = readString(in);
+				return true;
+			case "lastName":
+				model.lastName = readString(in);
+				return true;
+			case "avatarURL":
+				model.avatarURL = readString(in);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static void writeSpeakerBaseFields(JsonWriter out, SpeakerBaseApiModel model) throws IOException {
+		out.name("uuid").value(model.uuid);
+		out.name("firstName").value(model.firstName);
+		out.name("lastName").value(model.lastName);
+		out.name("avatarURL").value(model.avatarURL);
+	}
+
+	private static boolean readTalkBaseField(JsonReader in, String name, TalkBaseApiModel model) throws IOException {
+		switch (name) {
+			case "title":
+				model.title = readString(in);
+				return true;
+			case "talkType":
+				model.talkType = readString(in);
+				return true;
+			case "track":
+				model.track = readString(in);
+				return true;
+			case "trackId":
+				model.trackId = readString(in);
+				return true;
+			case "id":
+				model.id = readString(in);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static void writeTalkBaseFields(JsonWriter out, TalkBaseApiModel model) throws IOException {
+		out.name("title").value(model.title);
+		out.name("talkType").value(model.talkType);
+		out.name("track").value(model.track);
+		out.name("trackId").value(model.trackId);
+		out.name("id").value(model.id);
+	}
+
+	private static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		final List<T> result = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			result.add(adapter.read(in));
+		}
+		in.endArray();
+		return result;
+	}
+
+	private static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+		if (list == null) {
+			out.nullValue();
+			return;
+		}
+
+		out.beginArray();
+		for (T item : list) {
+			adapter.write(out, item);
+		}
+		out.endArray();
+	}
+
+	private static String readString(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextString();
+	}
+
+	private static int readInt(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextInt();
+	}
+
+	private static long readLong(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextLong();
+	}
+
+	private static boolean readBoolean(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return false;
+		}
+		return in.nextBoolean();
+	}
+}
@@ -1,5 +1,7 @@
 package com.devoxx.connection.model;
 
+import com.devoxx.data.model.RealmSlotBreak;
+
 import java.io.Serializable;
 
 public class BreakApiModel implements Serializable {
@@ -9,6 +11,19 @@ public class BreakApiModel implements Serializable {
 	public String nameFR;
 	public RoomApiModel room;
 
+	public static BreakApiModel fromDb(RealmSlotBreak dbModel) {
+		final BreakApiModel result = new BreakApiModel();
+		result.id = dbModel.getId();
+		result.nameEN = dbModel.getNameEN();
+		result.nameFR = dbModel.getNameFR();
+		result.room = new RoomApiModel();
+		result.room.id = dbModel.getRoomId();
+		result.room.name = dbModel.getRoomName();
+		result.room.setup = dbModel.getRoomSetup();
+		result.room.capacity = dbModel.getRoomCapacity();
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return "BreakApiModel{" +
@@ -1,6 +1,7 @@
 package com.devoxx.connection.model;
 
 import com.annimon.stream.function.Predicate;
+import com.devoxx.data.model.RealmSlot;
 import com.google.gson.annotations.SerializedName;
 
 import org.joda.time.DateTime;
@@ -28,6 +29,24 @@ public class SlotApiModel implements Serializable, Comparable<SlotApiModel> {
     long toTimeMillis;
     public int roomCapacity;
 
+    public static SlotApiModel fromDb(RealmSlot dbModel) {
+        final SlotApiModel result = new SlotApiModel();
+        result.slotId = dbModel.getSlotId();
+        result.roomId = dbModel.getRoomId();
+        result.roomSetup = dbModel.getRoomSetup();
+        result.roomName = dbModel.getRoomName();
+        result.roomCapacity = dbModel.getRoomCapacity();
+        result.fromTime = dbModel.getFromTime();
+        result.toTime = dbModel.getToTime();
+        result.day = dbModel.getDay();
+        result.notAllocated = dbModel.isNotAllocated();
+        result.fromTimeMillis = dbModel.getFromTimeMillis();
+        result.toTimeMillis = dbModel.getToTimeMillis();
+        result.talk = dbModel.getTalk() != null ? TalkFullApiModel.fromDb(dbModel.getTalk()) : null;
+        result.slotBreak = dbModel.getSlotBreak() != null ? BreakApiModel.fromDb(dbModel.getSlotBreak()) : null;
+        return result;
+    }
+
     public DateTime fromTime() {
         return new DateTime(fromTimeMillis);
     }
@@ -67,31 +86,6 @@ public class SlotApiModel implements Serializable, Comparable<SlotApiModel> {
         }
     }
 
-    public static class FilterPredicate implements Predicate<SlotApiModel> {
-
-        private String query;
-
-        public FilterPredicate() {
-
-        }
-
-        public FilterPredicate(String query) {
-            this.query = query;
-        }
-
-        public void setQuery(String query) {
-            this.query = query;
-        }
-
-        @Override
-        public boolean test(SlotApiModel value) {
-            return value.isTalk() && (value.talk.track.toLowerCase().contains(query)
-                    || value.talk.title.toLowerCase().contains(query)
-                    || value.talk.getReadableSpeakers().toLowerCase().contains(query)
-                    || value.talk.summary.toLowerCase().contains(query));
-        }
-    }
-
     @Override
     public int compareTo(SlotApiModel another) {
         if (this.fromTimeMs() > another.fromTimeMs()) {
@@ -1,7 +1,10 @@
 package com.devoxx.connection.model;
 
+import com.devoxx.data.model.RealmSlotSpeaker;
+import com.devoxx.data.model.RealmSlotTalk;
 import com.devoxx.utils.LazyField;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class TalkFullApiModel extends TalkBaseApiModel {
@@ -14,6 +17,23 @@ public class TalkFullApiModel extends TalkBaseApiModel {
 	private transient LazyField<String> lazySpeakersReadable =
 			new LazyField<>(this::createSpeakersReadable);
 
+	public static TalkFullApiModel fromDb(RealmSlotTalk dbModel) {
+		final TalkFullApiModel result = new TalkFullApiModel();
+		result.id = dbModel.getId();
+		result.title = dbModel.getTitle();
+		result.talkType = dbModel.getTalkType();
+		result.track = dbModel.getTrack();
+		result.trackId = dbModel.getTrackId();
+		result.lang = dbModel.getLang();
+		result.summary = dbModel.getSummary();
+		result.summaryAsHtml = dbModel.getSummaryAsHtml();
+		result.speakers = new ArrayList<>(dbModel.getSpeakers().size());
+		for (RealmSlotSpeaker speaker : dbModel.getSpeakers()) {
+			result.speakers.add(TalkSpeakerApiModel.fromDb(speaker));
+		}
+		return result;
+	}
+
 	public String getReadableSpeakers() {
 		// This object might be serialized, reinitialize lazy field.
 		if (lazySpeakersReadable == null) {
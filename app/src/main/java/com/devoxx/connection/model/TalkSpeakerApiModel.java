@@ -1,11 +1,23 @@
 package com.devoxx.connection.model;
 
+import com.devoxx.data.model.RealmSlotSpeaker;
+
 import android.net.Uri;
 
 public class TalkSpeakerApiModel extends SpeakerBaseApiModel {
 	public String name;
 	public LinkApiModel link;
 
+	public static TalkSpeakerApiModel fromDb(RealmSlotSpeaker dbModel) {
+		final TalkSpeakerApiModel result = new TalkSpeakerApiModel();
+		result.name = dbModel.getName();
+		result.link = new LinkApiModel();
+		result.link.href = dbModel.getLinkHref();
+		result.link.rel = dbModel.getLinkRel();
+		result.link.title = dbModel.getLinkTitle();
+		return result;
+	}
+
 	public static String getUuidFromLink(LinkApiModel link) {
 		return Uri.parse(link.href).getLastPathSegment();
 	}
@@ -1,5 +1,7 @@
 package com.devoxx.data;
 
+import com.annimon.stream.function.Function;
+import com.devoxx.BuildConfig;
 import com.devoxx.utils.Logger;
 
 import org.androidannotations.annotations.EBean;
@@ -7,6 +9,9 @@ import org.androidannotations.annotations.RootContext;
 
 import android.content.Context;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import io.realm.DynamicRealm;
 import io.realm.DynamicRealmObject;
 import io.realm.FieldAttribute;
@@ -16,21 +21,44 @@ import io.realm.RealmMigration;
 import io.realm.RealmResults;
 import io.realm.RealmSchema;
 
+/**
+ * Each thread shares one Realm instance, counted over {@link #getRealm()} and
+ * {@link #release(Realm)} pairs and closed when the last user releases it. Realm objects
+ * stay valid while the thread holds a reference, the main thread keeps its instance open.
+ */
 @EBean(scope = EBean.Scope.Singleton)
 public class RealmProvider {
 
 	private static final String DATABASE_NAME = "devoxx_db";
+	private static final int LEAK_WARNING_COUNT = 16;
 
 	@RootContext
 	Context context;
 
-	private boolean inited = false;
+	private volatile boolean inited = false;
+
+	private final ThreadLocal<ThreadRealm> threadRealms = new ThreadLocal<>();
+
+	private static final class ThreadRealm {
+		final Realm realm;
+		int count;
+		// Debug builds only, call sites of references not released yet.
+		final Deque<Exception> callSites = new ArrayDeque<>();
+
+		ThreadRealm(Realm realm) {
+			this.realm = realm;
+		}
+	}
+
+	public synchronized void init() {
+		if (inited) {
+			return;
+		}
 
-	public void init() {
 		final RealmConfiguration configuration =
 				new RealmConfiguration.Builder(context)
 						.name(DATABASE_NAME)
-						.schemaVersion(3)
+						.schemaVersion(4)
 						.migration(new SchemaMigration())
 						.build();
 		Realm.setDefaultConfiguration(configuration);
@@ -38,12 +66,110 @@ public class RealmProvider {
 		inited = true;
 	}
 
+	/**
+	 * Keeps the Realm of the current thread open, so reads don't reopen it. Call on the main thread.
+	 */
+	public void keepOpenOnCurrentThread() {
+		getRealm();
+	}
+
+	/**
+	 * Every call must be paired with {@link #release(Realm)} on the same thread, never close the instance directly.
+	 */
 	public Realm getRealm() {
 		if (!inited) {
 			init();
 		}
 
-		return Realm.getDefaultInstance();
+		ThreadRealm threadRealm = threadRealms.get();
+		if (threadRealm == null) {
+			threadRealm = new ThreadRealm(Realm.getDefaultInstance());
+			threadRealms.set(threadRealm);
+		}
+
+		threadRealm.count++;
+		if (BuildConfig.DEBUG) {
+			threadRealm.callSites.push(new Exception("Realm opened here"));
+			if (threadRealm.count % LEAK_WARNING_COUNT == 0) {
+				logCallSites("Realm references not released: " + threadRealm.count, threadRealm);
+			}
+		}
+		return threadRealm.realm;
+	}
+
+	public void release(Realm realm) {
+		final ThreadRealm threadRealm = threadRealms.get();
+		if (threadRealm == null || threadRealm.realm != realm) {
+			Logger.l("Released Realm not opened on this thread");
+			return;
+		}
+
+		threadRealm.count--;
+		if (BuildConfig.DEBUG) {
+			threadRealm.callSites.poll();
+		}
+		if (threadRealm.count == 0) {
+			threadRealms.remove();
+			threadRealm.realm.close();
+		}
+	}
+
+	public <T> T read(Function<Realm, T> query) {
+		final Realm realm = getRealm();
+		try {
+			return query.apply(realm);
+		} finally {
+			release(realm);
+		}
+	}
+
+	/**
+	 * Runs in a transaction. A write made inside another one joins it,
+	 * so several writes can be batched into a single commit.
+	 */
+	public void write(Realm.Transaction transaction) {
+		final Realm realm = getRealm();
+		try {
+			if (realm.isInTransaction()) {
+				transaction.execute(realm);
+				return;
+			}
+
+			realm.beginTransaction();
+			try {
+				transaction.execute(realm);
+				realm.commitTransaction();
+			} catch (RuntimeException e) {
+				realm.cancelTransaction();
+				throw e;
+			}
+		} finally {
+			release(realm);
+		}
+	}
+
+	/**
+	 * Closes the Realm of a pooled thread once its task is done, reporting references which were not released.
+	 */
+	public void releaseThread() {
+		final ThreadRealm threadRealm = threadRealms.get();
+		if (threadRealm == null) {
+			return;
+		}
+
+		logCallSites("Realm leaked, references not released: " + threadRealm.count, threadRealm);
+		threadRealms.remove();
+		if (threadRealm.realm.isInTransaction()) {
+			threadRealm.realm.cancelTransaction();
+		}
+		threadRealm.realm.close();
+	}
+
+	private static void logCallSites(String message, ThreadRealm threadRealm) {
+		Logger.l(message + " on " + Thread.currentThread().getName());
+		for (Exception callSite : threadRealm.callSites) {
+			Logger.exc(callSite);
+		}
 	}
 
 	private static class SchemaMigration implements RealmMigration {
@@ -76,6 +202,11 @@ public class RealmProvider {
 				migrateFrom2to3(schema);
 				oldVersion++;
 			}
+
+			if (oldVersion == 3) {
+				migrateFrom3to4(schema);
+				oldVersion++;
+			}
 		}
 
 		private void migrateFrom2to3(RealmSchema schema) {
@@ -86,5 +217,57 @@ public class RealmProvider {
 						.addField("isActive", Boolean.class, FieldAttribute.REQUIRED);
 			}
 		}
+
+		private void migrateFrom3to4(RealmSchema schema) {
+			if (!schema.contains("RealmSlotSpeaker")) {
+				schema.create("RealmSlotSpeaker")
+						.addField("name", String.class)
+						.addField("linkHref", String.class)
+						.addField("linkRel", String.class)
+						.addField("linkTitle", String.class);
+			}
+
+			if (!schema.contains("RealmSlotTalk")) {
+				schema.create("RealmSlotTalk")
+						.addField("id", String.class)
+						.addField("title", String.class)
+						.addField("talkType", String.class)
+						.addField("track", String.class)
+						.addField("trackId", String.class)
+						.addField("lang", String.class)
+						.addField("summary", String.class)
+						.addField("summaryAsHtml", String.class)
+						.addRealmListField("speakers", schema.get("RealmSlotSpeaker"));
+			}
+
+			if (!schema.contains("RealmSlotBreak")) {
+				schema.create("RealmSlotBreak")
+						.addField("id", String.class)
+						.addField("nameEN", String.class)
+						.addField("nameFR", String.class)
+						.addField("roomId", String.class)
+						.addField("roomName", String.class)
+						.addField("roomSetup", String.class)
+						.addField("roomCapacity", int.class);
+			}
+
+			// Old slots blob is converted lazily by SlotDao on first read.
+			if (!schema.contains("RealmSlot")) {
+				schema.create("RealmSlot")
+						.addField("slotId", String.class, FieldAttribute.PRIMARY_KEY)
+						.addField("roomId", String.class)
+						.addField("roomSetup", String.class)
+						.addField("roomName", String.class)
+						.addField("roomCapacity", int.class)
+						.addField("fromTime", String.class)
+						.addField("toTime", String.class)
+						.addField("day", String.class)
+						.addField("notAllocated", boolean.class)
+						.addField("fromTimeMillis", long.class, FieldAttribute.INDEXED)
+						.addField("toTimeMillis", long.class)
+						.addRealmObjectField("talk", schema.get("RealmSlotTalk"))
+						.addRealmObjectField("slotBreak", schema.get("RealmSlotBreak"));
+			}
+		}
 	}
 }
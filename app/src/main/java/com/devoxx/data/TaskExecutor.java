@@ -0,0 +1,217 @@
+package com.devoxx.data;
+
+import com.devoxx.utils.Logger;
+
+import org.androidannotations.annotations.Bean;
+import org.androidannotations.annotations.EBean;
+
+import android.os.Process;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background work of data managers, split into bounded lanes so a slow download
+ * never delays disk writes. Idle threads are stopped after a while.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class TaskExecutor {
+
+	public enum Lane {
+		/**
+		 * Threads mostly wait on sockets, background priority is enough.
+		 */
+		NETWORK(3, Process.THREAD_PRIORITY_BACKGROUND),
+		/**
+		 * Single thread, tasks run in submission order.
+		 */
+		DISK(1, Process.THREAD_PRIORITY_BACKGROUND),
+		/**
+		 * Index builds the UI is about to wait for, scheduled ahead of network and disk work.
+		 */
+		CPU(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+				Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE);
+
+		final int threads;
+		final int threadPriority;
+
+		Lane(int threads, int threadPriority) {
+			this.threads = threads;
+			this.threadPriority = threadPriority;
+		}
+	}
+
+	public static final class Metrics {
+		public final int queueDepth;
+		public final int running;
+		public final long completed;
+		public final long averageWaitMs;
+		public final long maxWaitMs;
+		public final long averageRunMs;
+
+		Metrics(int queueDepth, int running, long completed,
+				long averageWaitMs, long maxWaitMs, long averageRunMs) {
+			this.queueDepth = queueDepth;
+			this.running = running;
+			this.completed = completed;
+			this.averageWaitMs = averageWaitMs;
+			this.maxWaitMs = maxWaitMs;
+			this.averageRunMs = averageRunMs;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.US, "queued=%d, running=%d, completed=%d, wait avg=%dms max=%dms, run avg=%dms",
+					queueDepth, running, completed, averageWaitMs, maxWaitMs, averageRunMs);
+		}
+	}
+
+	private static final int MAX_QUEUED_TASKS = 64;
+	private static final long KEEP_ALIVE_SECONDS = 30;
+	private static final long SLOW_WAIT_MS = 1000;
+
+	@Bean
+	RealmProvider realmProvider;
+
+	private final Map<Lane, LaneExecutor> executors = new EnumMap<>(Lane.class);
+	private final Set<String> pendingKeys =
+			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	public TaskExecutor() {
+		for (Lane lane : Lane.values()) {
+			executors.put(lane, new LaneExecutor(lane));
+		}
+	}
+
+	/**
+	 * @return false if the lane queue is full and the task was dropped
+	 */
+	public boolean execute(Lane lane, Runnable task) {
+		return submit(lane, null, task);
+	}
+
+	/**
+	 * Runs the task unless a task with the same key is already queued or running.
+	 *
+	 * @return false if the task was dropped
+	 */
+	public boolean executeUnique(Lane lane, String key, Runnable task) {
+		if (!pendingKeys.add(key)) {
+			Logger.l("Task already pending: " + key);
+			return false;
+		}
+		return submit(lane, key, task);
+	}
+
+	public Metrics getMetrics(Lane lane) {
+		return executors.get(lane).getMetrics();
+	}
+
+	private boolean submit(Lane lane, String key, Runnable task) {
+		final LaneExecutor executor = executors.get(lane);
+		try {
+			executor.execute(new Task(executor, key, task));
+			return true;
+		} catch (RejectedExecutionException e) {
+			Logger.l("Task rejected on " + lane + " lane, " + executor.getMetrics());
+			if (key != null) {
+				pendingKeys.remove(key);
+			}
+			return false;
+		}
+	}
+
+	private final class Task implements Runnable {
+		private final LaneExecutor executor;
+		private final String key;
+		private final Runnable task;
+		private final long queuedAtMs = System.currentTimeMillis();
+
+		Task(LaneExecutor executor, String key, Runnable task) {
+			this.executor = executor;
+			this.key = key;
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			final long startMs = System.currentTimeMillis();
+			try {
+				task.run();
+			} finally {
+				// Pool threads outlive tasks, their Realm must not.
+				realmProvider.releaseThread();
+				if (key != null) {
+					pendingKeys.remove(key);
+				}
+				executor.onTaskFinished(startMs - queuedAtMs, System.currentTimeMillis() - startMs);
+			}
+		}
+	}
+
+	private static final class LaneExecutor extends ThreadPoolExecutor {
+		private final Lane lane;
+		private final AtomicLong completed = new AtomicLong();
+		private final AtomicLong totalWaitMs = new AtomicLong();
+		private final AtomicLong maxWaitMs = new AtomicLong();
+		private final AtomicLong totalRunMs = new AtomicLong();
+
+		LaneExecutor(Lane lane) {
+			super(lane.threads, lane.threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(MAX_QUEUED_TASKS), new LaneThreadFactory(lane));
+			this.lane = lane;
+			allowCoreThreadTimeOut(true);
+		}
+
+		void onTaskFinished(long waitMs, long runMs) {
+			completed.incrementAndGet();
+			totalWaitMs.addAndGet(waitMs);
+			totalRunMs.addAndGet(runMs);
+
+			long max = maxWaitMs.get();
+			while (waitMs > max && !maxWaitMs.compareAndSet(max, waitMs)) {
+				max = maxWaitMs.get();
+			}
+
+			if (waitMs > SLOW_WAIT_MS) {
+				Logger.l("Task waited " + waitMs + "ms on " + lane + " lane, " + getMetrics());
+			}
+		}
+
+		Metrics getMetrics() {
+			final long count = completed.get();
+			return new Metrics(getQueue().size(), getActiveCount(), count,
+					count > 0 ? totalWaitMs.get() / count : 0, maxWaitMs.get(),
+					count > 0 ? totalRunMs.get() / count : 0);
+		}
+	}
+
+	private static final class LaneThreadFactory implements ThreadFactory {
+		private final Lane lane;
+		private final AtomicInteger count = new AtomicInteger();
+
+		LaneThreadFactory(Lane lane) {
+			this.lane = lane;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final String name = "devoxx-" + lane.name().toLowerCase(Locale.US) + "-" + count.incrementAndGet();
+			return new Thread(() -> {
+				Process.setThreadPriority(lane.threadPriority);
+				runnable.run();
+			}, name);
+		}
+	}
+}
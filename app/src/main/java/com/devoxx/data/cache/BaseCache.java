@@ -3,12 +3,12 @@ package com.devoxx.data.cache;
 import com.annimon.stream.Optional;
 import com.devoxx.data.RealmProvider;
 import com.devoxx.data.cache.model.CacheObject;
+import com.devoxx.data.cache.snapshot.SnapshotStore;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
 import io.realm.Realm;
-import io.realm.RealmResults;
 
 @EBean
 public class BaseCache implements QueryAwareRawCache {
@@ -16,42 +16,37 @@ public class BaseCache implements QueryAwareRawCache {
 	@Bean
 	RealmProvider realmProvider;
 
+	@Bean
+	SnapshotStore snapshotStore;
+
 	@Override
 	public void upsert(String rawData, String query) {
-		final Realm realm = realmProvider.getRealm();
-		CacheObject cacheObject = fetchCacheObject(realm, query);
-
-		realm.beginTransaction();
-		if (cacheObject == null || !cacheObject.isValid()) {
-			cacheObject = realm.createObject(CacheObject.class);
-			cacheObject.setQuery(query);
-		}
-		cacheObject.setRawData(rawData);
-		cacheObject.setTimestamp(System.currentTimeMillis());
-		realm.commitTransaction();
-
-		realm.close();
+		realmProvider.write(realm -> {
+			CacheObject cacheObject = fetchCacheObject(realm, query);
+			if (cacheObject == null) {
+				cacheObject = realm.createObject(CacheObject.class);
+				cacheObject.setQuery(query);
+			}
+			cacheObject.setRawData(rawData);
+			cacheObject.setTimestamp(System.currentTimeMillis());
+		});
 	}
 
 	@Override
 	public Optional<String> getData(String query) {
-		final Realm realm = realmProvider.getRealm();
-		final CacheObject object = fetchCacheObject(realm, query);
-		final Optional<String> result = Optional.ofNullable((object != null && object.isValid())
-				? object.getRawData() : null);
-
-		realm.close();
-
-		return result;
+		return Optional.ofNullable(realmProvider.read(realm -> {
+			final CacheObject object = fetchCacheObject(realm, query);
+			return object != null ? object.getRawData() : null;
+		}));
 	}
 
 	@Override
 	public boolean isValid(String query, long lifeTime) {
-		final Realm realm = realmProvider.getRealm();
-		final CacheObject object = fetchCacheObject(realm, query);
-		final boolean isCacheAvailable = object != null && object.isValid();
-		final long cacheTime = isCacheAvailable ? object.getTimestamp() : 0;
-		realm.close();
+		final long cacheTime = realmProvider.read(realm -> {
+			final CacheObject object = fetchCacheObject(realm, query);
+			return object != null ? object.getTimestamp() : 0L;
+		});
+		final boolean isCacheAvailable = cacheTime > 0;
 
 		final long diffTime = System.currentTimeMillis() - cacheTime;
 
@@ -60,15 +55,11 @@ public class BaseCache implements QueryAwareRawCache {
 
 	@Override
 	public void clearCache(String query) {
-		final Realm realm = realmProvider.getRealm();
-		final RealmResults<CacheObject> object = realm
+		realmProvider.write(realm -> realm
 				.where(CacheObject.class)
 				.equalTo(CacheObject.Contract.QUERY, query)
-				.findAll();
-		realm.beginTransaction();
-		object.clear();
-		realm.commitTransaction();
-		realm.close();
+				.findAll()
+				.clear());
 	}
 
 	private CacheObject fetchCacheObject(Realm realm, String query) {
@@ -78,10 +69,8 @@ public class BaseCache implements QueryAwareRawCache {
 	}
 
 	public void clearAllCache() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(CacheObject.class).clear();
-		realm.commitTransaction();
-		realm.close();
+		realmProvider.write(realm -> realm.allObjects(CacheObject.class).clear());
+
+		snapshotStore.deleteAll();
 	}
 }
@@ -1,15 +1,18 @@
 package com.devoxx.data.cache;
 
-import com.annimon.stream.Optional;
 import com.devoxx.Configuration;
 import com.devoxx.connection.cfp.model.ConferenceApiModel;
+import com.devoxx.connection.model.ApiGson;
+import com.devoxx.data.cache.snapshot.ConferencesSnapshot;
+import com.devoxx.data.cache.snapshot.SnapshotStore;
 import com.devoxx.utils.AssetsUtil;
-import com.google.gson.Gson;
+import com.devoxx.utils.Logger;
 import com.google.gson.reflect.TypeToken;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -17,6 +20,9 @@ import java.util.concurrent.TimeUnit;
 @EBean
 public class ConferencesCache implements DataCache<List<ConferenceApiModel>, String> {
 
+	private static final Type TYPE = new TypeToken<List<ConferenceApiModel>>() {
+	}.getType();
+
 	private static final String CONFERENCES_CACHE_KEY = "conferences_cache_key";
 
 	public static final long CACHE_LIFE_TIME_MS =
@@ -28,15 +34,28 @@ public class ConferencesCache implements DataCache<List<ConferenceApiModel>, Str
 	@Bean
 	AssetsUtil assetsUtil;
 
+	@Bean
+	SnapshotStore snapshotStore;
+
 	@Override
 	public void upsert(List<ConferenceApiModel> rawData) {
-		baseCache.upsert(serializeData(rawData), CONFERENCES_CACHE_KEY);
+		try {
+			ConferencesSnapshot.write(rawData, snapshotStore.getFile(CONFERENCES_CACHE_KEY));
+			// base cache keeps only the timestamp, data lives in the snapshot file
+			baseCache.upsert("", CONFERENCES_CACHE_KEY);
+		} catch (IOException e) {
+			Logger.exc(e);
+			clearCache(null);
+		}
 	}
 
 	@Override
 	public List<ConferenceApiModel> getData() {
-		final Optional<String> optionalCache = baseCache.getData(CONFERENCES_CACHE_KEY);
-		return deserializeData(optionalCache.orElse(fallbackData()));
+		List<ConferenceApiModel> result = null;
+		if (baseCache.getData(CONFERENCES_CACHE_KEY).isPresent()) {
+			result = ConferencesSnapshot.read(snapshotStore.getFile(CONFERENCES_CACHE_KEY));
+		}
+		return result != null ? result : deserializeData(fallbackData());
 	}
 
 	@Override
@@ -47,6 +66,7 @@ public class ConferencesCache implements DataCache<List<ConferenceApiModel>, Str
 	@Override
 	public void clearCache(String query) {
 		baseCache.clearCache(CONFERENCES_CACHE_KEY);
+		snapshotStore.delete(CONFERENCES_CACHE_KEY);
 	}
 
 	public void initWithFallbackData() {
@@ -74,15 +94,6 @@ public class ConferencesCache implements DataCache<List<ConferenceApiModel>, Str
 	}
 
 	private List<ConferenceApiModel> deserializeData(String fromCache) {
-		return new Gson().fromJson(fromCache, getType());
-	}
-
-	private String serializeData(List<ConferenceApiModel> data) {
-		return new Gson().toJson(data);
-	}
-
-	private Type getType() {
-		return new TypeToken<List<ConferenceApiModel>>() {
-		}.getType();
+		return ApiGson.get().fromJson(fromCache, TYPE);
 	}
 }
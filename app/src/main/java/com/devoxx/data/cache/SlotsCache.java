@@ -1,22 +1,26 @@
 package com.devoxx.data.cache;
 
-import com.annimon.stream.Optional;
 import com.devoxx.Configuration;
 import com.devoxx.connection.model.SlotApiModel;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.devoxx.data.dao.SlotDao;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
-import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Slots are stored only once, as rows in {@link SlotDao}, for a single conference at a time.
+ * The base cache keeps an empty entry per conference whose timestamp tells if they are fresh,
+ * and one entry naming the conference the rows belong to.
+ */
 @EBean
-public class SlotsCache implements DataCache<List<SlotApiModel>, String> {
+public class SlotsCache implements DataCache<List<SlotApiModel>, List<SlotApiModel>> {
 
 	private static final String SLOTS_KEY_SUFFIX = "slots_key_suffix";
+	private static final String STORED_CONFERENCE_KEY = "slots_stored_conference_key";
 
 	private static final long CACHE_LIFE_TIME_MS =
 			TimeUnit.MINUTES.toMillis(Configuration.SLOTS_CACHE_TIME_MIN);
@@ -24,23 +28,39 @@ public class SlotsCache implements DataCache<List<SlotApiModel>, String> {
 	@Bean
 	BaseCache baseCache;
 
+	@Bean
+	SlotDao slotDao;
+
 	@Override
-	public void upsert(String rawData, String query) {
-		clearCache(query);
-		baseCache.upsert(rawData, getCacheKey(query));
+	public void upsert(List<SlotApiModel> slots, String query) {
+		slotDao.saveSlots(slots);
+		baseCache.upsert(query, STORED_CONFERENCE_KEY);
+		markFresh(query);
+	}
+
+	public void markFresh(String query) {
+		baseCache.upsert("", getCacheKey(query));
 	}
 
 	@Override
 	public List<SlotApiModel> getData(String query) {
-		final Optional<String> optionalData = baseCache.getData(getCacheKey(query));
-		return deserialize(optionalData.orElse("[]"));
+		return baseCache.getData(getCacheKey(query)).isPresent() && isStoredFor(query)
+				? slotDao.getAllSlots() : new ArrayList<>();
 	}
 
+	/**
+	 * Rows of another conference are never valid, even when this conference was fresh before.
+	 */
 	@Override
 	public boolean isValid(String query) {
-		return baseCache.isValid(getCacheKey(query), CACHE_LIFE_TIME_MS);
+		return baseCache.isValid(getCacheKey(query), CACHE_LIFE_TIME_MS) && isStoredFor(query);
 	}
 
+	/**
+	 * Drops only the entry of the given conference, so its slots read as missing and
+	 * are downloaded again. The next download replaces the rows and
+	 * {@link com.devoxx.data.manager.SlotsDataManager#clearData()} wipes them.
+	 */
 	@Override
 	public void clearCache(String query) {
 		baseCache.clearCache(getCacheKey(query));
@@ -56,19 +76,13 @@ public class SlotsCache implements DataCache<List<SlotApiModel>, String> {
 		throw new IllegalStateException("Not needed here!");
 	}
 
-
 	@Override
 	public void upsert(List<SlotApiModel> rawData) {
 		throw new IllegalStateException("Not needed here!");
 	}
 
-	private Type getType() {
-		return new TypeToken<List<SlotApiModel>>() {
-		}.getType();
-	}
-
-	private List<SlotApiModel> deserialize(String data) {
-		return new Gson().fromJson(data, getType());
+	private boolean isStoredFor(String query) {
+		return query != null && query.equals(baseCache.getData(STORED_CONFERENCE_KEY).orElse(null));
 	}
 
 	private String getCacheKey(String query) {
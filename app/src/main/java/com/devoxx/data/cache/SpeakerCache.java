@@ -2,8 +2,8 @@ package com.devoxx.data.cache;
 
 import com.annimon.stream.Optional;
 import com.devoxx.Configuration;
+import com.devoxx.connection.model.ApiGson;
 import com.devoxx.connection.model.SpeakerFullApiModel;
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import org.androidannotations.annotations.Bean;
@@ -17,6 +17,9 @@ import java.util.concurrent.TimeUnit;
 @EBean
 public class SpeakerCache implements DataCache<SpeakerFullApiModel, String> {
 
+	private static final Type TYPE = new TypeToken<SpeakerFullApiModel>() {
+	}.getType();
+
 	public static final long CACHE_LIFE_TIME_MS =
 			TimeUnit.MINUTES.toMillis(Configuration.SPEAKERS_CACHE_LIFE_TIME_MINS);
 
@@ -61,18 +64,13 @@ public class SpeakerCache implements DataCache<SpeakerFullApiModel, String> {
 
 	private SpeakerFullApiModel deserializeData(String fromCache) {
 		if (!TextUtils.isEmpty(fromCache)) {
-			return new Gson().fromJson(fromCache, getType());
+			return ApiGson.get().fromJson(fromCache, TYPE);
 		} else {
 			return null;
 		}
 	}
 
 	private String serializeData(SpeakerFullApiModel data) {
-		return new Gson().toJson(data);
-	}
-
-	private Type getType() {
-		return new TypeToken<SpeakerFullApiModel>() {
-		}.getType();
+		return ApiGson.get().toJson(data);
 	}
 }
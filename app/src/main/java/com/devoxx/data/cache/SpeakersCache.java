@@ -1,18 +1,18 @@
 package com.devoxx.data.cache;
 
-import com.annimon.stream.Optional;
 import com.devoxx.Configuration;
 import com.devoxx.connection.model.SpeakerShortApiModel;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
-import java.lang.reflect.Type;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Speakers are stored only once, as Realm objects written by the downloader.
+ * The base cache keeps just an empty entry whose timestamp tells if they are fresh.
+ */
 @EBean
 public class SpeakersCache implements DataCache<List<SpeakerShortApiModel>, String> {
 
@@ -26,13 +26,19 @@ public class SpeakersCache implements DataCache<List<SpeakerShortApiModel>, Stri
 
 	@Override
 	public void upsert(List<SpeakerShortApiModel> rawData) {
-		baseCache.upsert(serializeData(rawData), SPEAKERS_CACHE_KEY);
+		markFresh();
+	}
+
+	/**
+	 * Stored speakers were confirmed by the server, start their life time again.
+	 */
+	public void markFresh() {
+		baseCache.upsert("", SPEAKERS_CACHE_KEY);
 	}
 
 	@Override
 	public List<SpeakerShortApiModel> getData() {
-		final Optional<String> optionalCache = baseCache.getData(SPEAKERS_CACHE_KEY);
-		return deserializeData(optionalCache.orElse("[]"));
+		throw new IllegalStateException("Not needed here!");
 	}
 
 	@Override
@@ -59,17 +65,4 @@ public class SpeakersCache implements DataCache<List<SpeakerShortApiModel>, Stri
 	public boolean isValid(String query) {
 		throw new IllegalStateException("Not needed here!");
 	}
-
-	private List<SpeakerShortApiModel> deserializeData(String fromCache) {
-		return new Gson().fromJson(fromCache, getType());
-	}
-
-	private String serializeData(List<SpeakerShortApiModel> data) {
-		return new Gson().toJson(data);
-	}
-
-	private Type getType() {
-		return new TypeToken<List<SpeakerShortApiModel>>() {
-		}.getType();
-	}
 }
@@ -0,0 +1,90 @@
+package com.devoxx.data.cache;
+
+import com.devoxx.connection.model.SlotApiModel;
+
+import org.androidannotations.annotations.EBean;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Time labels of list rows, formatted once per (from, to) pair. Labels are dropped
+ * when the default time zone or locale changes.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class TimeLabelsCache {
+
+	private static final String DAY_TEXT_FORMAT = "EEE dd"; // WED 11
+	private static final int MAX_SIZE = 512;
+
+	private final Map<Key, String> labels = new LinkedHashMap<Key, String>(64, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private final Key probe = new Key();
+	private DateTimeZone zone;
+	private Locale locale;
+	private DateTimeFormatter dayFormatter;
+
+	/**
+	 * @return label like "WED 11, 10:30-11:20"
+	 */
+	public String getTalkTimeLabel(SlotApiModel slot) {
+		synchronized (labels) {
+			invalidateIfNeeded();
+
+			probe.set(slot.fromTimeMs(), slot.toTimeMs());
+			String result = labels.get(probe);
+			if (result == null) {
+				final String dayRaw = dayFormatter.print(slot.fromTimeMs());
+				result = String.format("%s, %s-%s", dayRaw, slot.fromTime, slot.toTime);
+				labels.put(new Key().set(slot.fromTimeMs(), slot.toTimeMs()), result);
+			}
+			return result;
+		}
+	}
+
+	private void invalidateIfNeeded() {
+		final DateTimeZone currentZone = DateTimeZone.getDefault();
+		final Locale currentLocale = Locale.getDefault();
+		if (!currentZone.equals(zone) || !currentLocale.equals(locale)) {
+			labels.clear();
+			zone = currentZone;
+			locale = currentLocale;
+			dayFormatter = DateTimeFormat.forPattern(DAY_TEXT_FORMAT)
+					.withZone(currentZone).withLocale(currentLocale);
+		}
+	}
+
+	private static final class Key {
+		long fromMs;
+		long toMs;
+
+		Key set(long fromMs, long toMs) {
+			this.fromMs = fromMs;
+			this.toMs = toMs;
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key key = (Key) o;
+			return fromMs == key.fromMs && toMs == key.toMs;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (int) (fromMs ^ (fromMs >>> 32)) + (int) (toMs ^ (toMs >>> 32));
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.devoxx.data.cache;
+
+import com.devoxx.connection.Connection;
+import com.devoxx.data.RealmProvider;
+import com.devoxx.data.model.RealmTrack;
+
+import org.androidannotations.annotations.Bean;
+import org.androidannotations.annotations.EBean;
+
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.realm.Realm;
+
+/**
+ * In memory copy of the tracks descriptions, so list rows can resolve track icons
+ * and titles without touching Realm while binding.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class TracksMetadataCache {
+
+	private static final String UNKNOWN_TRACK_ICON_URL = "";
+
+	public static final class TrackMetadata {
+		public final String id;
+		public final String title;
+		public final String iconUrl;
+
+		TrackMetadata(String id, String title, String iconUrl) {
+			this.id = id;
+			this.title = title;
+			this.iconUrl = iconUrl;
+		}
+	}
+
+	@Bean
+	RealmProvider realmProvider;
+
+	@Bean
+	Connection connection;
+
+	private volatile Map<String, TrackMetadata> tracks;
+
+	public void rebuild(List<RealmTrack> realmTracks) {
+		final String baseUrl = obtainBaseUrl();
+		final Map<String, TrackMetadata> result = new LinkedHashMap<>(realmTracks.size());
+		for (RealmTrack track : realmTracks) {
+			final String iconUrl = TextUtils.isEmpty(track.getImgsrc())
+					? UNKNOWN_TRACK_ICON_URL : baseUrl + track.getImgsrc();
+			result.put(normalizeKey(track.getId()),
+					new TrackMetadata(track.getId(), track.getTitle(), iconUrl));
+		}
+		tracks = Collections.unmodifiableMap(result);
+	}
+
+	public void clear() {
+		tracks = Collections.emptyMap();
+	}
+
+	/**
+	 * @return all tracks, in the order they were stored
+	 */
+	public List<TrackMetadata> getTracks() {
+		return new ArrayList<>(getTracksMap().values());
+	}
+
+	public TrackMetadata getTrack(String trackId) {
+		return getTracksMap().get(normalizeKey(trackId));
+	}
+
+	public String getTrackIconUrl(String trackId) {
+		final TrackMetadata track = getTrack(trackId);
+		return track != null ? track.iconUrl : UNKNOWN_TRACK_ICON_URL;
+	}
+
+	public String getTrackTitle(String trackId) {
+		final TrackMetadata track = getTrack(trackId);
+		return track != null ? track.title : null;
+	}
+
+	private Map<String, TrackMetadata> getTracksMap() {
+		Map<String, TrackMetadata> result = tracks;
+		if (result == null) {
+			// First access after process start, tracks were downloaded in an earlier session.
+			synchronized (this) {
+				if (tracks == null) {
+					final Realm realm = realmProvider.getRealm();
+					rebuild(realm.allObjects(RealmTrack.class));
+					realmProvider.release(realm);
+				}
+				result = tracks;
+			}
+		}
+		return result;
+	}
+
+	private String obtainBaseUrl() {
+		final String url = connection.getActiveConferenceApiUrl();
+		if (TextUtils.isEmpty(url)) {
+			return "";
+		}
+
+		final int length = url.length();
+		return url.charAt(length - 1) == '/' ? url.substring(0, length - 1) : url;
+	}
+
+	private static String normalizeKey(String trackId) {
+		return trackId != null ? trackId.toLowerCase(Locale.US) : "";
+	}
+}
@@ -0,0 +1,147 @@
+package com.devoxx.data.cache.snapshot;
+
+import com.devoxx.connection.cfp.model.ConferenceApiModel;
+import com.devoxx.connection.cfp.model.FloorApiModel;
+import com.devoxx.utils.Logger;
+
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ConferencesSnapshot {
+
+	// Bump when the record layout below changes, older files are then ignored.
+	private static final int PAYLOAD_VERSION = 1;
+	private static final long SECTION_KEY = 0;
+
+	private ConferencesSnapshot() {
+	}
+
+	public static void write(List<ConferenceApiModel> conferences, File file) throws IOException {
+		final SnapshotWriter writer = new SnapshotWriter(PAYLOAD_VERSION);
+		writer.beginSection(SECTION_KEY);
+		writer.writeInt(conferences.size());
+		for (ConferenceApiModel conference : conferences) {
+			writer.writeString(conference.id);
+			writer.writeString(conference.confType);
+			writer.writeString(conference.confDescription);
+			writer.writeString(conference.confIcon);
+			writer.writeString(conference.venue);
+			writer.writeString(conference.address);
+			writer.writeString(conference.country);
+			writer.writeString(conference.latitude);
+			writer.writeString(conference.longitude);
+			writer.writeString(conference.capacity);
+			writer.writeString(conference.sessions);
+			writer.writeString(conference.splashImgURL);
+			writer.writeString(conference.fromDate);
+			writer.writeString(conference.toDate);
+			writer.writeString(conference.wwwURL);
+			writer.writeString(conference.regURL);
+			writer.writeString(conference.cfpURL);
+			writer.writeString(conference.talkURL);
+			writer.writeString(conference.votingURL);
+			writer.writeString(conference.votingEnabled);
+			writer.writeString(conference.cfpEndpoint);
+			writer.writeString(conference.cfpVersion);
+			writer.writeString(conference.youTubeId);
+			writer.writeString(conference.hashtag);
+			writer.writeString(conference.integration_id);
+			writeFloors(writer, conference.floors);
+		}
+		writer.writeTo(file);
+	}
+
+	@Nullable
+	public static List<ConferenceApiModel> read(File file) {
+		final SnapshotReader reader = SnapshotReader.open(file, PAYLOAD_VERSION);
+		final SnapshotReader.Section section = reader != null ? reader.getSection(SECTION_KEY) : null;
+		if (section == null) {
+			return null;
+		}
+
+		try {
+			return readConferences(section);
+		} catch (SnapshotReader.CorruptSnapshotException e) {
+			Logger.exc(e);
+			return null;
+		}
+	}
+
+	@Nullable
+	private static List<ConferenceApiModel> readConferences(SnapshotReader.Section section) {
+		final int count = section.readCount();
+		if (count < 0) {
+			return null;
+		}
+
+		final List<ConferenceApiModel> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final ConferenceApiModel conference = new ConferenceApiModel();
+			conference.id = section.readString();
+			conference.confType = section.readString();
+			conference.confDescription = section.readString();
+			conference.confIcon = section.readString();
+			conference.venue = section.readString();
+			conference.address = section.readString();
+			conference.country = section.readString();
+			conference.latitude = section.readString();
+			conference.longitude = section.readString();
+			conference.capacity = section.readString();
+			conference.sessions = section.readString();
+			conference.splashImgURL = section.readString();
+			conference.fromDate = section.readString();
+			conference.toDate = section.readString();
+			conference.wwwURL = section.readString();
+			conference.regURL = section.readString();
+			conference.cfpURL = section.readString();
+			conference.talkURL = section.readString();
+			conference.votingURL = section.readString();
+			conference.votingEnabled = section.readString();
+			conference.cfpEndpoint = section.readString();
+			conference.cfpVersion = section.readString();
+			conference.youTubeId = section.readString();
+			conference.hashtag = section.readString();
+			conference.integration_id = section.readString();
+			conference.floors = readFloors(section);
+			result.add(conference);
+		}
+		return result;
+	}
+
+	private static void writeFloors(SnapshotWriter writer, List<FloorApiModel> floors) throws IOException {
+		if (floors == null) {
+			writer.writeInt(-1);
+			return;
+		}
+
+		writer.writeInt(floors.size());
+		for (FloorApiModel floor : floors) {
+			writer.writeString(floor.img);
+			writer.writeString(floor.title);
+			writer.writeString(floor.tabpos);
+			writer.writeString(floor.target);
+		}
+	}
+
+	private static List<FloorApiModel> readFloors(SnapshotReader.Section section) {
+		final int count = section.readCount();
+		if (count < 0) {
+			return null;
+		}
+
+		final List<FloorApiModel> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final FloorApiModel floor = new FloorApiModel();
+			floor.img = section.readString();
+			floor.title = section.readString();
+			floor.tabpos = section.readString();
+			floor.target = section.readString();
+			result.add(floor);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,189 @@
+package com.devoxx.data.cache.snapshot;
+
+import com.devoxx.utils.Logger;
+
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a file made by {@link SnapshotWriter} through a memory mapped buffer.
+ * Only the header is parsed up front, strings are decoded once and on first use
+ * and sections are read only when asked for. Every length and offset is checked against
+ * the mapped file, a truncated or corrupt file reads as no snapshot at all.
+ */
+public class SnapshotReader {
+
+	private final ByteBuffer buffer;
+	private final int[] stringOffsets;
+	private final String[] strings;
+	private final Map<Long, Section> sections;
+
+	@Nullable
+	public static SnapshotReader open(File file, int payloadVersion) {
+		if (!file.exists()) {
+			return null;
+		}
+
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(file, "r");
+			final ByteBuffer buffer = randomAccessFile.getChannel()
+					.map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+			return new SnapshotReader(buffer, payloadVersion);
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			Logger.exc(e);
+			return null;
+		} finally {
+			if (randomAccessFile != null) {
+				try {
+					// the mapping stays valid after the file is closed
+					randomAccessFile.close();
+				} catch (IOException e) {
+					Logger.exc(e);
+				}
+			}
+		}
+	}
+
+	private SnapshotReader(ByteBuffer buffer, int payloadVersion) throws IOException {
+		this.buffer = buffer;
+
+		if (buffer.getInt() != SnapshotWriter.MAGIC
+				|| buffer.getInt() != SnapshotWriter.FORMAT_VERSION
+				|| buffer.getInt() != payloadVersion) {
+			throw new IOException("Unsupported snapshot");
+		}
+
+		final int stringCount = readCount(buffer);
+		stringOffsets = new int[stringCount];
+		strings = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			stringOffsets[i] = buffer.position();
+			final int length = buffer.getInt();
+			if (length < 0 || length > buffer.remaining()) {
+				throw new IOException("Truncated snapshot");
+			}
+			buffer.position(buffer.position() + length);
+		}
+
+		final int sectionCount = readCount(buffer);
+		if (sectionCount > buffer.remaining() / 16) {
+			throw new IOException("Truncated snapshot");
+		}
+		final long[] keys = new long[sectionCount];
+		final int[] offsets = new int[sectionCount];
+		final int[] lengths = new int[sectionCount];
+		for (int i = 0; i < sectionCount; i++) {
+			keys[i] = buffer.getLong();
+			offsets[i] = buffer.getInt();
+			lengths[i] = buffer.getInt();
+		}
+
+		final int dataStart = buffer.position();
+		sections = new HashMap<>(sectionCount);
+		for (int i = 0; i < sectionCount; i++) {
+			if (offsets[i] < 0 || lengths[i] < 0
+					|| (long) dataStart + offsets[i] + lengths[i] > buffer.limit()) {
+				throw new IOException("Truncated snapshot");
+			}
+			final int start = dataStart + offsets[i];
+			sections.put(keys[i], new Section(start, start + lengths[i]));
+		}
+	}
+
+	private static int readCount(ByteBuffer buffer) throws IOException {
+		final int count = buffer.getInt();
+		// every entry takes at least four bytes
+		if (count < 0 || count > buffer.remaining() / 4) {
+			throw new IOException("Truncated snapshot");
+		}
+		return count;
+	}
+
+	@Nullable
+	public Section getSection(long key) {
+		final Section section = sections.get(key);
+		return section != null ? new Section(section.start, section.end) : null;
+	}
+
+	private synchronized String getString(int index) {
+		if (index < 0) {
+			return null;
+		}
+		if (index >= strings.length) {
+			throw new CorruptSnapshotException("String index out of range: " + index);
+		}
+
+		String result = strings[index];
+		if (result == null) {
+			final int offset = stringOffsets[index];
+			final byte[] bytes = new byte[buffer.getInt(offset)];
+			final ByteBuffer source = buffer.duplicate();
+			source.position(offset + 4);
+			source.get(bytes);
+			result = new String(bytes, SnapshotWriter.UTF_8);
+			strings[index] = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Sequential cursor over one section, values must be read in the order they were written.
+	 * Reading past the section end throws {@link CorruptSnapshotException}.
+	 */
+	public class Section {
+
+		private final int start;
+		private final int end;
+		private int position;
+
+		private Section(int start, int end) {
+			this.start = start;
+			this.end = end;
+			this.position = start;
+		}
+
+		public int readInt() {
+			if (position + 4 > end) {
+				throw new CorruptSnapshotException("Read past section end");
+			}
+			final int result = buffer.getInt(position);
+			position += 4;
+			return result;
+		}
+
+		/**
+		 * Reads a list size written with {@link SnapshotWriter#writeInt(int)}, -1 stands for null.
+		 */
+		public int readCount() {
+			final int result = readInt();
+			// every entry takes at least four bytes
+			if (result < -1 || result > (end - position) / 4) {
+				throw new CorruptSnapshotException("Invalid count: " + result);
+			}
+			return result;
+		}
+
+		public String readString() {
+			return getString(readInt());
+		}
+	}
+
+	/**
+	 * Thrown when section data doesn't match its layout, readers treat it as no snapshot.
+	 */
+	public static class CorruptSnapshotException extends RuntimeException {
+
+		CorruptSnapshotException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.devoxx.data.cache.snapshot;
+
+import org.androidannotations.annotations.EBean;
+import org.androidannotations.annotations.RootContext;
+
+import android.content.Context;
+
+import java.io.File;
+
+@EBean
+public class SnapshotStore {
+
+	private static final String SNAPSHOTS_DIR = "snapshots";
+
+	@RootContext
+	Context context;
+
+	public File getFile(String key) {
+		final File dir = getDir();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		return new File(dir, key + ".bin");
+	}
+
+	public void delete(String key) {
+		getFile(key).delete();
+	}
+
+	public void deleteAll() {
+		final File[] files = getDir().listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+	}
+
+	private File getDir() {
+		return new File(context.getFilesDir(), SNAPSHOTS_DIR);
+	}
+}
@@ -0,0 +1,110 @@
+package com.devoxx.data.cache.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a snapshot file. Layout:
+ * <pre>
+ * int magic, int format version, int payload version
+ * int string count, (int length, UTF-8 bytes) * count
+ * int section count, (long key, int offset, int length) * count
+ * section bytes
+ * </pre>
+ * Strings are interned, records refer to them by index (-1 stands for null).
+ */
+public class SnapshotWriter {
+
+	static final int MAGIC = 0x44565853;
+	static final int FORMAT_VERSION = 1;
+	static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final int payloadVersion;
+	private final Map<String, Integer> stringIndexes = new HashMap<>();
+	private final List<String> strings = new ArrayList<>();
+	private final Map<Long, ByteArrayOutputStream> sections = new LinkedHashMap<>();
+	private DataOutputStream current;
+
+	public SnapshotWriter(int payloadVersion) {
+		this.payloadVersion = payloadVersion;
+	}
+
+	public void beginSection(long key) {
+		final ByteArrayOutputStream section = new ByteArrayOutputStream();
+		sections.put(key, section);
+		current = new DataOutputStream(section);
+	}
+
+	public void writeInt(int value) throws IOException {
+		current.writeInt(value);
+	}
+
+	public void writeString(String value) throws IOException {
+		current.writeInt(intern(value));
+	}
+
+	/**
+	 * Writes to a temporary file first, so readers never see a half written snapshot.
+	 */
+	public void writeTo(File file) throws IOException {
+		final File tmpFile = new File(file.getPath() + ".tmp");
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tmpFile)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(payloadVersion);
+
+			out.writeInt(strings.size());
+			for (String value : strings) {
+				final byte[] bytes = value.getBytes(UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			out.writeInt(sections.size());
+			int offset = 0;
+			for (Map.Entry<Long, ByteArrayOutputStream> entry : sections.entrySet()) {
+				final int length = entry.getValue().size();
+				out.writeLong(entry.getKey());
+				out.writeInt(offset);
+				out.writeInt(length);
+				offset += length;
+			}
+
+			for (ByteArrayOutputStream section : sections.values()) {
+				section.writeTo(out);
+			}
+		} finally {
+			out.close();
+		}
+
+		if (!tmpFile.renameTo(file)) {
+			throw new IOException("Can't move snapshot to " + file);
+		}
+	}
+
+	private int intern(String value) {
+		if (value == null) {
+			return -1;
+		}
+
+		Integer index = stringIndexes.get(value);
+		if (index == null) {
+			index = strings.size();
+			strings.add(value);
+			stringIndexes.put(value, index);
+		}
+		return index;
+	}
+}
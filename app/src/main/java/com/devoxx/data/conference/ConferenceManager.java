@@ -3,10 +3,14 @@ package com.devoxx.data.conference;
 import com.annimon.stream.Optional;
 import com.annimon.stream.Stream;
 import com.crashlytics.android.Crashlytics;
+import com.devoxx.connection.Connection;
 import com.devoxx.connection.cfp.model.ConferenceApiModel;
+import com.devoxx.connection.model.ApiGson;
 import com.devoxx.data.RealmProvider;
 import com.devoxx.data.Settings_;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.cache.BaseCache;
+import com.devoxx.data.conference.model.ActiveConference;
 import com.devoxx.data.conference.model.ConferenceDay;
 import com.devoxx.data.downloader.ConferenceDownloader;
 import com.devoxx.data.downloader.SlotsDownloader;
@@ -19,9 +23,7 @@ import com.devoxx.data.user.UserManager;
 import com.devoxx.integrations.IntegrationController;
 import com.devoxx.integrations.IntegrationProvider;
 import com.devoxx.integrations.huntly.HuntlyController;
-import com.google.gson.Gson;
 
-import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
@@ -29,7 +31,6 @@ import org.androidannotations.annotations.UiThread;
 import org.androidannotations.annotations.sharedpreferences.Pref;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
-import org.joda.time.Days;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
@@ -41,14 +42,14 @@ import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import io.realm.Realm;
 
 @EBean(scope = EBean.Scope.Singleton)
 public class ConferenceManager {
 
 	private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormat.forPattern(DATE_FORMAT);
 
 	public interface IConferencesListener {
 
@@ -60,6 +61,13 @@ public class ConferenceManager {
 
 	}
 
+	public interface ActiveConferenceListener {
+		/**
+		 * Called on the thread which changed the active conference.
+		 */
+		void onActiveConferenceChanged(@Nullable ActiveConference conference);
+	}
+
 	public interface IConferenceDataListener {
 
 		void onConferenceDataStart();
@@ -97,23 +105,41 @@ public class ConferenceManager {
 	@Bean
 	BaseCache baseCache;
 
+	@Bean
+	Connection connection;
+
 	@Bean
 	UserManager userManager;
 
 	@Bean
 	HuntlyController huntlyController;
 
+	@Bean
+	TaskExecutor taskExecutor;
+
 	@Pref
 	Settings_ settings;
 
 	private List<ConferenceDay> conferenceDays;
 
+	/**
+	 * Loaded from Realm once, then replaced whenever the stored conference changes. Null until loaded.
+	 */
+	private volatile Optional<ActiveConference> activeConference;
+	private final Object activeConferenceLock = new Object();
+	private final List<ActiveConferenceListener> activeConferenceListeners = new CopyOnWriteArrayList<>();
+
 	public void createSpeakersRepository() {
 		speakersDataManager.createSpeakersRepository();
 	}
 
-	@Background
 	public void fetchAvailableConferences() {
+		if (!taskExecutor.execute(TaskExecutor.Lane.NETWORK, this::fetchAvailableConferencesSync)) {
+			notifyConferencesListenerError(allConferencesDataListener);
+		}
+	}
+
+	private void fetchAvailableConferencesSync() {
 		try {
 			notifyConferencesListenerAboutStart(allConferencesDataListener);
 			final List<ConferenceApiModel> conferences = conferenceDownloader.fetchAllConferences();
@@ -174,32 +200,9 @@ public class ConferenceManager {
 	}
 
 	public void setupDefaultTimeZone() {
-		final Optional<RealmConference> optional = getActiveConference();
-		if (optional.isPresent()) {
-			final RealmConference conference = optional.get();
-			final String timeZoneId;
-			switch (conference.getId()) {
-				default:
-				case "DevoxxFR2016":
-					timeZoneId = "Europe/Paris";
-					break;
-				case "DevoxxUK2016":
-					timeZoneId = "Europe/London";
-					break;
-				case "DevoxxPL2015":
-				case "DevoxxPL2016":
-					timeZoneId = "Europe/Warsaw";
-					break;
-				case "DV15":
-					timeZoneId = "Europe/Brussels";
-					break;
-				case "DevoxxMA2015":
-				case "DevoxxMA2016":
-					timeZoneId = "Africa/Casablanca";
-					break;
-			}
-
-			DateTimeZone.setDefault(DateTimeZone.forID(timeZoneId));
+		final Optional<ActiveConference> conference = getActiveConferenceDescriptor();
+		if (conference.isPresent()) {
+			DateTimeZone.setDefault(conference.get().getTimeZone());
 		}
 	}
 
@@ -232,7 +235,7 @@ public class ConferenceManager {
 	@Nullable
 	public ConferenceApiModel lastSelectedConference() {
 		final String rawData = settings.lastSelectedConference().getOr("");
-		return !TextUtils.isEmpty(rawData) ? new Gson().fromJson(rawData, ConferenceApiModel.class) : null;
+		return !TextUtils.isEmpty(rawData) ? ApiGson.get().fromJson(rawData, ConferenceApiModel.class) : null;
 	}
 
 	public void initWitStaticData() {
@@ -240,22 +243,26 @@ public class ConferenceManager {
 	}
 
 	public void updateSlotsIfNeededAsync(Context context) {
-		final Optional<RealmConference> conference = getActiveConference();
+		final Optional<ActiveConference> conference = getActiveConferenceDescriptor();
 		if (conference.isPresent()) {
 			slotsDataManager.updateSlotsAsync(context, new SlotsDownloader.DownloadRequest(conference.get()));
 		}
 	}
 
 	public void forceUpdateFromSettings(Context context) {
-		final Optional<RealmConference> conference = getActiveConference();
+		final Optional<ActiveConference> conference = getActiveConferenceDescriptor();
 		if (conference.isPresent()) {
 			slotsDataManager.forceUpdateSlotsAsync(context, new SlotsDownloader.DownloadRequest(conference.get()));
 		}
 	}
 
-	@Background
-	public void fetchConferenceData(
-			ConferenceApiModel conferenceApiModel) {
+	public void fetchConferenceData(ConferenceApiModel conferenceApiModel) {
+		if (!taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> fetchConferenceDataSync(conferenceApiModel))) {
+			notifyConferenceListenerError(confDataListener);
+		}
+	}
+
+	private void fetchConferenceDataSync(ConferenceApiModel conferenceApiModel) {
 		saveLastSelectedConference(conferenceApiModel);
 
 		final String confCode = conferenceApiModel.id;
@@ -288,7 +295,7 @@ public class ConferenceManager {
 	}
 
 	private void saveLastSelectedConference(ConferenceApiModel conferenceApiModel) {
-		settings.edit().lastSelectedConference().put(new Gson().toJson(conferenceApiModel)).apply();
+		settings.edit().lastSelectedConference().put(ApiGson.get().toJson(conferenceApiModel)).apply();
 	}
 
 	@UiThread void notifyConferenceListenerStart(WeakReference<IConferenceDataListener> listener) {
@@ -317,46 +324,26 @@ public class ConferenceManager {
 	}
 
 	public List<ConferenceDay> getConferenceDays() {
-		final RealmConference realmConference = getActiveConference().get();
-		final String fromDate = realmConference.getFromDate();
-		final String toDate = realmConference.getToDate();
-		final DateTime fromConfDate = parseConfDate(fromDate);
-		final DateTime toConfDate = parseConfDate(toDate);
-		final DateTime now = new DateTime(getNow());
-
-		final int daysSpan = Days.daysBetween(fromConfDate, toConfDate).getDays();
-
-		final List<ConferenceDay> result = new ArrayList<>(daysSpan + 1 /* include days */);
-		for (int i = 0; i <= daysSpan; i++) {
-			final DateTime tmpDate = fromConfDate.plusDays(i);
-			final boolean isToday = tmpDate.getDayOfYear() == now.getDayOfYear();
-			result.add(new ConferenceDay(
-					tmpDate.getMillis(),
-					tmpDate.dayOfWeek().getAsText(Locale.getDefault()),
-					isToday));
-		}
-
+		final List<ConferenceDay> result = getActiveConferenceDescriptor().get().getDays(getNow());
 		conferenceDays = new ArrayList<>(result);
-
 		return result;
 	}
 
-	@Background
 	public void updateActiveConferenceFromCfp() {
+		taskExecutor.executeUnique(TaskExecutor.Lane.NETWORK, "active-conference-update",
+				this::updateActiveConferenceFromCfpSync);
+	}
+
+	private void updateActiveConferenceFromCfpSync() {
 		try {
 			final List<ConferenceApiModel> confs = conferenceDownloader.fetchAllConferences();
-			final Optional<RealmConference> optional = getActiveConference();
-			if (confs != null && optional.isPresent()) {
-				final RealmConference activeConf = optional.get();
-
+			final Optional<String> activeId = getActiveConferenceId();
+			if (confs != null && activeId.isPresent()) {
 				for (ConferenceApiModel conf : confs) {
-					if (conf.id.equals(activeConf.getId())) {
-
-						final Realm realm = realmProvider.getRealm();
-						realm.beginTransaction();
-						realm.copyToRealmOrUpdate(new RealmConference(conf));
-						realm.commitTransaction();
-						realm.close();
+					if (conf.id.equals(activeId.get())) {
+						final RealmConference updated = new RealmConference(conf);
+						realmProvider.write(realm -> realm.copyToRealmOrUpdate(updated));
+						publishActiveConference(updated);
 					}
 				}
 			}
@@ -365,16 +352,44 @@ public class ConferenceManager {
 		}
 	}
 
+	/**
+	 * @return detached copy made for this caller, usable on any thread
+	 */
 	public Optional<RealmConference> getActiveConference() {
-		final Realm realm = realmProvider.getRealm();
-		return Optional.ofNullable(realm.where(RealmConference.class).findFirst());
+		final ActiveConference conference = getActiveConferenceDescriptor().orElse(null);
+		return Optional.ofNullable(conference != null ? conference.getConference() : null);
+	}
+
+	public Optional<ActiveConference> getActiveConferenceDescriptor() {
+		Optional<ActiveConference> result = activeConference;
+		if (result == null) {
+			synchronized (activeConferenceLock) {
+				result = activeConference;
+				if (result == null) {
+					result = Optional.ofNullable(createActiveConference(realmProvider.read(realm -> {
+						final RealmConference conference = realm.where(RealmConference.class).findFirst();
+						return conference != null ? realm.copyFromRealm(conference) : null;
+					})));
+					activeConference = result;
+				}
+			}
+		}
+		return result;
 	}
 
 	public Optional<String> getActiveConferenceId() {
-		final RealmConference conference = getActiveConference().orElse(null);
+		final ActiveConference conference = getActiveConferenceDescriptor().orElse(null);
 		return Optional.ofNullable(conference != null ? conference.getId() : null);
 	}
 
+	public void addActiveConferenceListener(ActiveConferenceListener listener) {
+		activeConferenceListeners.add(listener);
+	}
+
+	public void removeActiveConferenceListener(ActiveConferenceListener listener) {
+		activeConferenceListeners.remove(listener);
+	}
+
 	public void clearCurrentConferenceData() {
 		clearCurrentConference();
 		clearSlotsData();
@@ -409,6 +424,7 @@ public class ConferenceManager {
 
 	private void clearCache() {
 		baseCache.clearAllCache();
+		connection.clearHttpCache();
 	}
 
 	private void clearSlotsData() {
@@ -416,24 +432,39 @@ public class ConferenceManager {
 	}
 
 	private void clearCurrentConference() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.where(RealmConference.class).findAll().clear();
-		realm.commitTransaction();
-		realm.close();
+		realmProvider.write(realm -> realm.where(RealmConference.class).findAll().clear());
+		publishActiveConference(null);
 	}
 
 	private void saveActiveConference(ConferenceApiModel conferenceApiModel) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmConference.class).clear();
-		realm.copyToRealmOrUpdate(new RealmConference(conferenceApiModel));
-		realm.commitTransaction();
-		realm.close();
+		final RealmConference conference = new RealmConference(conferenceApiModel);
+		realmProvider.write(realm -> {
+			realm.allObjects(RealmConference.class).clear();
+			realm.copyToRealmOrUpdate(conference);
+		});
+		publishActiveConference(conference);
+	}
+
+	/**
+	 * @param conference detached conference just stored, null when cleared
+	 */
+	private void publishActiveConference(@Nullable RealmConference conference) {
+		final ActiveConference published = createActiveConference(conference);
+		synchronized (activeConferenceLock) {
+			activeConference = Optional.ofNullable(published);
+		}
+
+		for (ActiveConferenceListener listener : activeConferenceListeners) {
+			listener.onActiveConferenceChanged(published);
+		}
+	}
+
+	@Nullable
+	private static ActiveConference createActiveConference(@Nullable RealmConference conference) {
+		return conference != null ? new ActiveConference(conference) : null;
 	}
 
 	public static DateTime parseConfDate(String stringDate) {
-		DateTimeFormatter formatter = DateTimeFormat.forPattern(DATE_FORMAT);
-		return formatter.parseDateTime(stringDate);
+		return DATE_FORMATTER.parseDateTime(stringDate);
 	}
 }
@@ -0,0 +1,115 @@
+package com.devoxx.data.conference.model;
+
+import com.devoxx.data.conference.ConferenceManager;
+import com.devoxx.data.model.RealmConference;
+import com.devoxx.data.model.RealmFloor;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Days;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Active conference with dates, days and time zone resolved once. Immutable, the stored
+ * conference is handed out only as copies.
+ */
+public final class ActiveConference {
+
+	private final RealmConference conference;
+	private final DateTimeZone timeZone;
+	private final DateTime fromDate;
+	private final DateTime toDate;
+	private final long[] daysMs;
+	private final String[] dayNames;
+	private final List<RealmFloor> floors;
+
+	public ActiveConference(RealmConference conference) {
+		this.conference = new RealmConference(conference);
+		timeZone = DateTimeZone.forID(timeZoneId(conference.getId()));
+		fromDate = ConferenceManager.parseConfDate(conference.getFromDate()).withZone(timeZone);
+		toDate = ConferenceManager.parseConfDate(conference.getToDate()).withZone(timeZone);
+
+		final int daysSpan = Days.daysBetween(fromDate, toDate).getDays();
+		daysMs = new long[daysSpan + 1 /* include days */];
+		dayNames = new String[daysSpan + 1];
+		for (int i = 0; i <= daysSpan; i++) {
+			final DateTime day = fromDate.plusDays(i);
+			daysMs[i] = day.getMillis();
+			dayNames[i] = day.dayOfWeek().getAsText(Locale.getDefault());
+		}
+
+		floors = conference.getFloors() != null
+				? Collections.unmodifiableList(new ArrayList<>(conference.getFloors()))
+				: Collections.<RealmFloor>emptyList();
+	}
+
+	/**
+	 * @return detached copy, callers may modify it
+	 */
+	public RealmConference getConference() {
+		return new RealmConference(conference);
+	}
+
+	public String getCfpUrl() {
+		return conference.getCfpURL();
+	}
+
+	public boolean isVotingEnabled() {
+		return Boolean.parseBoolean(conference.getVotingEnabled());
+	}
+
+	public String getId() {
+		return conference.getId();
+	}
+
+	public DateTimeZone getTimeZone() {
+		return timeZone;
+	}
+
+	public DateTime getFromDate() {
+		return fromDate;
+	}
+
+	public DateTime getToDate() {
+		return toDate;
+	}
+
+	public List<RealmFloor> getFloors() {
+		return floors;
+	}
+
+	/**
+	 * @param nowMs decides which day is running
+	 */
+	public List<ConferenceDay> getDays(long nowMs) {
+		final DateTime now = new DateTime(nowMs, timeZone);
+		final List<ConferenceDay> result = new ArrayList<>(daysMs.length);
+		for (int i = 0; i < daysMs.length; i++) {
+			final boolean isToday = new DateTime(daysMs[i], timeZone).getDayOfYear() == now.getDayOfYear();
+			result.add(new ConferenceDay(daysMs[i], dayNames[i], isToday));
+		}
+		return result;
+	}
+
+	private static String timeZoneId(String conferenceId) {
+		switch (conferenceId) {
+			default:
+			case "DevoxxFR2016":
+				return "Europe/Paris";
+			case "DevoxxUK2016":
+				return "Europe/London";
+			case "DevoxxPL2015":
+			case "DevoxxPL2016":
+				return "Europe/Warsaw";
+			case "DV15":
+				return "Europe/Brussels";
+			case "DevoxxMA2015":
+			case "DevoxxMA2016":
+				return "Africa/Casablanca";
+		}
+	}
+}
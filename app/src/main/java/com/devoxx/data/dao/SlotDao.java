@@ -1,9 +1,13 @@
 package com.devoxx.data.dao;
 
+import com.devoxx.connection.model.ApiGson;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.model.RealmSlot;
+import com.devoxx.data.model.RealmSlotBreak;
+import com.devoxx.data.model.RealmSlotSpeaker;
+import com.devoxx.data.model.RealmSlotTalk;
 import com.devoxx.data.model.RealmSlotsAggregate;
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import org.androidannotations.annotations.Bean;
@@ -15,59 +19,164 @@ import android.text.TextUtils;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import io.realm.Case;
 import io.realm.Realm;
+import io.realm.RealmList;
+import io.realm.RealmResults;
 
 @EBean
 public class SlotDao {
 
+	private static final Type SLOTS_TYPE = new TypeToken<List<SlotApiModel>>() {
+	}.getType();
+
 	@RootContext
 	Context context;
 
 	@Bean
 	RealmProvider realmProvider;
 
-
 	public void saveSlots(List<SlotApiModel> slots) {
-		final Gson gson = new Gson();
-		final Realm realm = realmProvider.getRealm();
-		final RealmSlotsAggregate aggModel = new RealmSlotsAggregate();
-		final Type listType = new TypeToken<List<SlotApiModel>>() {
-		}.getType();
-		aggModel.setRawData(gson.toJson(slots, listType));
+		realmProvider.write(realm -> {
+			clearSlots(realm);
+			for (SlotApiModel slot : slots) {
+				insertSlot(realm, slot);
+			}
+		});
+	}
 
-		realm.beginTransaction();
-		realm.allObjects(RealmSlotsAggregate.class).clear();
-		realm.copyToRealm(aggModel);
-		realm.commitTransaction();
-		realm.close();
+	public void upsertSlots(Collection<SlotApiModel> slots) {
+		realmProvider.write(realm -> {
+			for (SlotApiModel slot : slots) {
+				insertSlot(realm, slot);
+			}
+		});
+	}
+
+	/**
+	 * Replaces everything stored for the given days (e.g. "monday") with the given slots.
+	 */
+	public void replaceSlotsForDays(Collection<String> days, Collection<SlotApiModel> slots) {
+		realmProvider.write(realm -> {
+			for (String day : days) {
+				final RealmResults<RealmSlot> stale = realm.where(RealmSlot.class)
+						.equalTo(RealmSlot.Contract.DAY, day, Case.INSENSITIVE).findAll();
+				final List<String> staleIds = new ArrayList<>(stale.size());
+				for (RealmSlot slot : stale) {
+					staleIds.add(slot.getSlotId());
+				}
+				for (String slotId : staleIds) {
+					removeSlot(realm, slotId);
+				}
+			}
+			for (SlotApiModel slot : slots) {
+				insertSlot(realm, slot);
+			}
+		});
 	}
 
 	public List<SlotApiModel> getAllSlots() {
-		final Gson gson = new Gson();
 		final Realm realm = realmProvider.getRealm();
-		final RealmSlotsAggregate aggModel = realm
-				.where(RealmSlotsAggregate.class).findFirst();
-		final String rawData = aggModel != null ? aggModel.getRawData() : "";
-		realm.close();
+		migrateAggregateIfNeeded(realm);
 
-		final List<SlotApiModel> result = new ArrayList<>();
-		if (!TextUtils.isEmpty(rawData)) {
-			final Type listType = new TypeToken<List<SlotApiModel>>() {
-			}.getType();
-			final List<SlotApiModel> list = gson.fromJson(rawData, listType);
-			result.addAll(list);
-		}
+		final List<SlotApiModel> result = toApiModels(realm.where(RealmSlot.class)
+				.findAllSorted(RealmSlot.Contract.FROM_TIME_MILLIS));
+		realmProvider.release(realm);
 
 		return result;
 	}
 
-	public void clearData() {
+	public List<SlotApiModel> getAllocatedSlotsBetween(long fromMs, long toMs) {
 		final Realm realm = realmProvider.getRealm();
+		migrateAggregateIfNeeded(realm);
+
+		final List<SlotApiModel> result = toApiModels(realm.where(RealmSlot.class)
+				.greaterThanOrEqualTo(RealmSlot.Contract.FROM_TIME_MILLIS, fromMs)
+				.lessThan(RealmSlot.Contract.FROM_TIME_MILLIS, toMs)
+				.equalTo(RealmSlot.Contract.NOT_ALLOCATED, false)
+				.findAllSorted(RealmSlot.Contract.FROM_TIME_MILLIS));
+		realmProvider.release(realm);
+
+		return result;
+	}
+
+	public void clearData() {
+		realmProvider.write(realm -> {
+			clearSlots(realm);
+			realm.allObjects(RealmSlotsAggregate.class).clear();
+		});
+	}
+
+	private void insertSlot(Realm realm, SlotApiModel slot) {
+		removeSlot(realm, slot.slotId);
+		realm.copyToRealm(RealmSlot.fromApi(slot));
+	}
+
+	private void removeSlot(Realm realm, String slotId) {
+		final RealmSlot existing = realm.where(RealmSlot.class)
+				.equalTo(RealmSlot.Contract.SLOT_ID, slotId).findFirst();
+		if (existing == null) {
+			return;
+		}
+
+		final RealmSlotTalk talk = existing.getTalk();
+		if (talk != null) {
+			final RealmList<RealmSlotSpeaker> speakers = talk.getSpeakers();
+			for (int i = speakers.size() - 1; i >= 0; i--) {
+				speakers.get(i).removeFromRealm();
+			}
+			talk.removeFromRealm();
+		}
+
+		final RealmSlotBreak slotBreak = existing.getSlotBreak();
+		if (slotBreak != null) {
+			slotBreak.removeFromRealm();
+		}
+
+		existing.removeFromRealm();
+	}
+
+	private void clearSlots(Realm realm) {
+		realm.allObjects(RealmSlotSpeaker.class).clear();
+		realm.allObjects(RealmSlotTalk.class).clear();
+		realm.allObjects(RealmSlotBreak.class).clear();
+		realm.allObjects(RealmSlot.class).clear();
+	}
+
+	private List<SlotApiModel> toApiModels(RealmResults<RealmSlot> slots) {
+		final List<SlotApiModel> result = new ArrayList<>(slots.size());
+		for (RealmSlot slot : slots) {
+			result.add(SlotApiModel.fromDb(slot));
+		}
+		return result;
+	}
+
+	/**
+	 * Schedules saved before normalized storage are kept as one JSON blob,
+	 * move them to slot rows once so the user sees data before the next download.
+	 */
+	private void migrateAggregateIfNeeded(Realm realm) {
+		final RealmSlotsAggregate aggModel = realm
+				.where(RealmSlotsAggregate.class).findFirst();
+		if (aggModel == null) {
+			return;
+		}
+
+		final String rawData = aggModel.getRawData();
+		final List<SlotApiModel> slots = new ArrayList<>();
+		if (!TextUtils.isEmpty(rawData)) {
+			final List<SlotApiModel> list = ApiGson.get().fromJson(rawData, SLOTS_TYPE);
+			slots.addAll(list);
+		}
+
 		realm.beginTransaction();
+		for (SlotApiModel slot : slots) {
+			insertSlot(realm, slot);
+		}
 		realm.allObjects(RealmSlotsAggregate.class).clear();
 		realm.commitTransaction();
-		realm.close();
 	}
 }
@@ -1,5 +1,6 @@
 package com.devoxx.data.downloader;
 
+import com.devoxx.Configuration;
 import com.devoxx.common.utils.Constants;
 import com.devoxx.common.wear.GoogleApiConnector;
 import com.devoxx.connection.Connection;
@@ -7,10 +8,12 @@ import com.devoxx.connection.DevoxxApi;
 import com.devoxx.connection.cfp.model.ConferenceApiModel;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.connection.model.SpecificScheduleApiModel;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.cache.SlotsCache;
 import com.devoxx.data.conference.ConferenceManager;
-import com.devoxx.data.model.RealmConference;
-import com.google.gson.Gson;
+import com.devoxx.data.conference.model.ActiveConference;
+import com.devoxx.data.dao.SlotDao;
+import com.devoxx.utils.Logger;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
@@ -18,21 +21,33 @@ import org.androidannotations.annotations.RootContext;
 import org.joda.time.DateTime;
 
 import android.content.Context;
+import android.support.annotation.Nullable;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import retrofit2.Call;
+import retrofit2.Response;
 
 @EBean
 public class SlotsDownloader {
 
 	@Bean Connection connection;
 	@Bean SlotsCache slotsCache;
+	@Bean SlotDao slotDao;
+	@Bean TaskExecutor taskExecutor;
 	@RootContext Context context;
 
 	private List<SlotApiModel> downloadTalksHelper(DownloadRequest downloadRequest, boolean force) throws IOException {
@@ -41,59 +56,169 @@ public class SlotsDownloader {
 		if (slotsCache.isValid(downloadRequest.confCode) && !force) {
 			result = slotsCache.getData(downloadRequest.confCode);
 		} else {
-			result = downloadAllData(downloadRequest);
-			slotsCache.upsert(deserializeData(result), downloadRequest.confCode);
+			result = downloadAllData(downloadRequest, true);
+			if (result != null) {
+				slotsCache.upsert(result, downloadRequest.confCode);
+			} else {
+				slotsCache.markFresh(downloadRequest.confCode);
+			}
 		}
 
 		return result;
 	}
 
+	/**
+	 * @return slots of the conference or null when the server reported
+	 * that none of the days changed since the stored download
+	 */
+	@Nullable
 	public List<SlotApiModel> downloadTalks(DownloadRequest downloadRequest) throws IOException {
 		return downloadTalksHelper(downloadRequest, false);
 	}
 
+	@Nullable
 	public List<SlotApiModel> downloadTalksForPush(DownloadRequest downloadRequest) throws IOException {
 		return downloadTalksHelper(downloadRequest, true);
 	}
 
+	/**
+	 * Downloads only the days of the request, without touching the stored schedule
+	 * or the items of the wearable device.
+	 *
+	 * @return slots of those days or null when none of them changed
+	 */
+	@Nullable
+	public List<SlotApiModel> downloadChangedDays(DownloadRequest downloadRequest) throws IOException {
+		return downloadAllData(downloadRequest, false);
+	}
+
 	public boolean isDownloadNeeded(String confCode) {
 		return !slotsCache.isValid(confCode);
 	}
 
-	private String deserializeData(List<SlotApiModel> result) {
-		return new Gson().toJson(result);
+	/**
+	 * @param clearWearItems true when the whole schedule is downloaded, the wearable device
+	 *                       then drops its cached items
+	 */
+	private List<SlotApiModel> downloadAllData(DownloadRequest downloadRequest,
+			boolean clearWearItems) throws IOException {
+
+		final GoogleApiConnector googleApiConnector = clearWearItems ? new GoogleApiConnector(context) : null;
+		if (googleApiConnector != null) {
+			// clear the cache used by the wearable device
+			googleApiConnector.deleteAllItems(Constants.CHANNEL_ID);
+		}
+
+		final Set<SlotApiModel> result = new HashSet<>();
+		final DevoxxApi devoxxApi = connection.getDevoxxApi();
+		final boolean anyChanges = devoxxApi == null
+				|| downloadDays(devoxxApi, downloadRequest, result);
+
+		if (googleApiConnector != null) {
+			googleApiConnector.disconnect();
+		}
+
+		return anyChanges ? new ArrayList<>(result) : null;
 	}
 
-	private List<SlotApiModel> downloadAllData(DownloadRequest downloadRequest) throws IOException {
+	/**
+	 * @return false when every day was answered with 304
+	 */
+	private boolean downloadDays(DevoxxApi devoxxApi, DownloadRequest downloadRequest,
+			Set<SlotApiModel> result) throws IOException {
+		final List<String> days = downloadRequest.days;
 
-		final GoogleApiConnector googleApiConnector = new GoogleApiConnector(context);
+		final Map<String, FutureTask<List<SlotApiModel>>> futures = new LinkedHashMap<>();
+		for (String day : days) {
+			futures.put(day, new FutureTask<>(() ->
+					downloadTalkSlotsForDay(devoxxApi, downloadRequest.confCode, day)));
+		}
 
-		// clear the cache used by the wearable device
-		googleApiConnector.deleteAllItems(Constants.CHANNEL_ID);
+		// At most SLOTS_DOWNLOAD_PARALLELISM days are in flight: this thread and helpers on
+		// the network lane take days from one queue. This thread never waits for a day nobody
+		// has started, so waiting from a lane thread can't starve the lane.
+		final Queue<FutureTask<List<SlotApiModel>>> pending = new ConcurrentLinkedQueue<>(futures.values());
+		final Runnable worker = () -> {
+			FutureTask<List<SlotApiModel>> task;
+			while ((task = pending.poll()) != null) {
+				task.run();
+			}
+		};
+		final int helpers = Math.min(Configuration.SLOTS_DOWNLOAD_PARALLELISM, days.size()) - 1;
+		for (int i = 0; i < helpers; i++) {
+			taskExecutor.execute(TaskExecutor.Lane.NETWORK, worker);
+		}
+		worker.run();
 
-		final Set<SlotApiModel> result = new HashSet<>();
-		for (String day : downloadRequest.days) {
-			downloadTalkSlotsForDay(downloadRequest.confCode, result, day);
+		// Results are merged only on this thread, so the set needs no locking.
+		final List<String> failedDays = new ArrayList<>();
+		final List<String> notModifiedDays = new ArrayList<>();
+		for (Map.Entry<String, FutureTask<List<SlotApiModel>>> entry : futures.entrySet()) {
+			try {
+				final List<SlotApiModel> daySlots = entry.getValue().get();
+				if (daySlots != null) {
+					result.addAll(daySlots);
+				} else {
+					notModifiedDays.add(entry.getKey());
+				}
+			} catch (ExecutionException e) {
+				Logger.exc(e);
+				failedDays.add(entry.getKey());
+			} catch (InterruptedException e) {
+				pending.clear();
+				for (FutureTask<List<SlotApiModel>> future : futures.values()) {
+					future.cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Schedule download interrupted");
+			}
 		}
 
-		googleApiConnector.disconnect();
+		if (!days.isEmpty() && failedDays.size() == days.size()) {
+			throw new IOException("Schedule download failed for all days");
+		}
 
-		return new ArrayList<>(result);
+		if (!days.isEmpty() && notModifiedDays.size() == days.size()) {
+			return false;
+		}
+
+		final List<String> keptDays = new ArrayList<>(failedDays);
+		keptDays.addAll(notModifiedDays);
+		if (!keptDays.isEmpty()) {
+			keepStoredSlotsForDays(keptDays, result);
+		}
+		return true;
 	}
 
-	private void downloadTalkSlotsForDay(
-			String confCode, Set<SlotApiModel> result, String day) throws IOException {
+	/**
+	 * A single failed or unchanged day should not wipe the whole schedule,
+	 * we keep what was stored for it before.
+	 */
+	private void keepStoredSlotsForDays(List<String> days, Set<SlotApiModel> result) {
+		for (SlotApiModel slot : slotDao.getAllSlots()) {
+			if (slot.day != null && days.contains(slot.day.toLowerCase(Locale.US))) {
+				result.add(slot);
+			}
+		}
+	}
 
-		final DevoxxApi devoxxApi = connection.getDevoxxApi();
+	private List<SlotApiModel> downloadTalkSlotsForDay(
+			DevoxxApi devoxxApi, String confCode, String day) throws IOException {
 
-		if (devoxxApi != null) {
-			final Call<SpecificScheduleApiModel> call = devoxxApi.specificSchedule(confCode, day);
-			final SpecificScheduleApiModel body = call.execute().body();
+		final long start = System.currentTimeMillis();
+		final Call<SpecificScheduleApiModel> call = devoxxApi.specificSchedule(confCode, day);
+		final Response<SpecificScheduleApiModel> response = call.execute();
+		Logger.l("Slots for " + day + " downloaded in " + (System.currentTimeMillis() - start) + " ms");
 
-			if (body != null && body.slots != null) {
-				result.addAll(body.slots);
-			}
+		if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			return null;
 		}
+
+		final SpecificScheduleApiModel body = response.body();
+		if (body != null && body.slots != null) {
+			return body.slots;
+		}
+		return new ArrayList<>();
 	}
 
 	public static class DownloadRequest {
@@ -106,12 +231,20 @@ public class SlotsDownloader {
 			this.confCode = conference.id;
 		}
 
-		public DownloadRequest(RealmConference conference) {
-			days = initDays(ConferenceManager.parseConfDate(conference.getFromDate()),
-					ConferenceManager.parseConfDate(conference.getToDate()));
+		public DownloadRequest(ActiveConference conference) {
+			days = initDays(conference.getFromDate(), conference.getToDate());
 			this.confCode = conference.getId();
 		}
 
+		private DownloadRequest(List<String> days, String confCode) {
+			this.days = days;
+			this.confCode = confCode;
+		}
+
+		public DownloadRequest forDays(List<String> changedDays) {
+			return new DownloadRequest(changedDays, confCode);
+		}
+
 		private List<String> initDays(DateTime start, DateTime end) {
 			final int daysBetween = end.getDayOfYear() - start.getDayOfYear();
 			final List<String> result = new ArrayList<>(daysBetween);
@@ -128,5 +261,9 @@ public class SlotsDownloader {
 		public String getConfCode() {
 			return confCode;
 		}
+
+		public List<String> getDays() {
+			return days;
+		}
 	}
 }
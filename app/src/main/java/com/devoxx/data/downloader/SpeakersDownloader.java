@@ -15,11 +15,13 @@ import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.sharedpreferences.Pref;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.List;
 
 import io.realm.Realm;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Response;
 
 @EBean
 public class SpeakersDownloader {
@@ -45,8 +47,13 @@ public class SpeakersDownloader {
 			final DevoxxApi devoxxApi = connection.getDevoxxApi();
 
 			final Call<ResponseBody> callSpeaker = devoxxApi.speaker(confCode, uuid);
-			final ResponseBody responseBody = callSpeaker.execute().body();
+			final Response<ResponseBody> response = callSpeaker.execute();
 
+			if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+				return getStoredSpeaker(uuid);
+			}
+
+			final ResponseBody responseBody = response.body();
 			if (responseBody == null) {
 				throw new IOException("No response body!");
 			}
@@ -58,40 +65,47 @@ public class SpeakersDownloader {
 			realm.beginTransaction();
 			result = realm.createOrUpdateObjectFromJson(RealmSpeaker.class, rawModel);
 			realm.commitTransaction();
-			realm.close();
+			realmProvider.release(realm);
 		} else {
-			final Realm realm = realmProvider.getRealm();
-			result = realm.where(RealmSpeaker.class).equalTo("uuid", uuid).findFirst();
-			realm.close();
+			result = getStoredSpeaker(uuid);
 		}
 		return result;
 	}
 
-	public List<SpeakerShortApiModel> downloadSpeakersShortInfoList(final String confCode) throws IOException {
-		final List<SpeakerShortApiModel> speakers;
+	private RealmSpeaker getStoredSpeaker(String uuid) {
+		final Realm realm = realmProvider.getRealm();
+		final RealmSpeaker result = realm.where(RealmSpeaker.class).equalTo("uuid", uuid).findFirst();
+		realmProvider.release(realm);
+		return result;
+	}
+
+	public void downloadSpeakersShortInfoList(final String confCode) throws IOException {
 		if (speakersCache.isValid()) {
-			speakers = speakersCache.getData();
-		} else {
-			final DevoxxApi devoxxApi = connection.getDevoxxApi();
-			final Call<List<SpeakerShortApiModel>> call = devoxxApi.speakers(confCode);
-			speakers = call.execute().body();
+			// stored speakers are still fresh
+			return;
+		}
 
-			if (speakers == null) {
-				throw new IOException("No response body!");
-			}
+		final DevoxxApi devoxxApi = connection.getDevoxxApi();
+		final Call<List<SpeakerShortApiModel>> call = devoxxApi.speakers(confCode);
+		final Response<List<SpeakerShortApiModel>> response = call.execute();
 
-			speakersCache.upsert(speakers);
+		if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			speakersCache.markFresh();
+			return;
 		}
 
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		for (SpeakerShortApiModel apiModel : speakers) {
-			final RealmSpeakerShort speakerShort = RealmSpeakerShort.fromApi(apiModel);
-			realm.copyToRealmOrUpdate(speakerShort);
+		final List<SpeakerShortApiModel> speakers = response.body();
+		if (speakers == null) {
+			throw new IOException("No response body!");
 		}
-		realm.commitTransaction();
-		realm.close();
 
-		return speakers;
+		speakersCache.upsert(speakers);
+
+		realmProvider.write(realm -> {
+			for (SpeakerShortApiModel apiModel : speakers) {
+				final RealmSpeakerShort speakerShort = RealmSpeakerShort.fromApi(apiModel);
+				realm.copyToRealmOrUpdate(speakerShort);
+			}
+		});
 	}
 }
@@ -4,19 +4,16 @@ import com.devoxx.connection.Connection;
 import com.devoxx.connection.model.TrackApiModel;
 import com.devoxx.connection.model.TracksApiModel;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.cache.TracksMetadataCache;
 import com.devoxx.data.model.RealmTrack;
 import com.devoxx.data.schedule.filter.ScheduleFilterManager;
 
-import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
-import android.text.TextUtils;
-
 import java.io.IOException;
-import java.util.List;
+import java.net.HttpURLConnection;
 
-import io.realm.Case;
 import io.realm.Realm;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -24,8 +21,6 @@ import retrofit2.Response;
 @EBean
 public class TracksDownloader {
 
-	private static final String UNKNOWN_TRACK_ICON_URL = "";
-
 	@Bean
 	RealmProvider realmProvider;
 
@@ -35,60 +30,40 @@ public class TracksDownloader {
 	@Bean
 	Connection connection;
 
-	private String activeConferenceApiUrl;
-
-	@AfterInject void afterInject() {
-		final String url = connection.getActiveConferenceApiUrl();
-		if (!TextUtils.isEmpty(url)) {
-			final int length = url.length();
-			if (url.charAt(length - 1) == '/') {
-				activeConferenceApiUrl = url.substring(0, length - 1);
-			} else {
-				activeConferenceApiUrl = url;
-			}
-		}
-	}
+	@Bean
+	TracksMetadataCache tracksMetadataCache;
 
 	public void downloadTracksDescriptions(String confCode) throws IOException {
-		clearTracksData();
-
 		final Call<TracksApiModel> tracksCall = connection.getDevoxxApi().tracks(confCode);
-		final Realm realm = realmProvider.getRealm();
 		final Response<TracksApiModel> response = tracksCall.execute();
-		final TracksApiModel tracksApiModel = response.body();
-		if (tracksApiModel != null) {
-			realm.beginTransaction();
-			for (TrackApiModel apiModel : tracksApiModel.tracks) {
-				realm.copyToRealmOrUpdate(RealmTrack.createFromApi(apiModel));
-			}
-			realm.commitTransaction();
+		if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			// stored tracks and their filters are still valid
+			final Realm realm = realmProvider.getRealm();
+			tracksMetadataCache.rebuild(realm.allObjects(RealmTrack.class));
+			realmProvider.release(realm);
+			return;
 		}
-		final List<RealmTrack> tracks = realm.allObjects(RealmTrack.class);
-		scheduleFilterManager.createTrackFiltersDefinition(tracks);
 
-		realm.close();
-	}
+		final TracksApiModel tracksApiModel = response.body();
+		realmProvider.write(realm -> {
+			realm.allObjects(RealmTrack.class).clear();
+			if (tracksApiModel != null) {
+				for (TrackApiModel apiModel : tracksApiModel.tracks) {
+					realm.copyToRealmOrUpdate(RealmTrack.createFromApi(apiModel));
+				}
+			}
+		});
 
-	public String getTrackIconUrl(String trackId) {
 		final Realm realm = realmProvider.getRealm();
-		final RealmTrack realmTrack = realm.where(RealmTrack.class).
-				equalTo(RealmTrack.Contract.ID, trackId.toLowerCase(), Case.INSENSITIVE).findFirst();
+		tracksMetadataCache.rebuild(realm.allObjects(RealmTrack.class));
+		realmProvider.release(realm);
 
-		String result = UNKNOWN_TRACK_ICON_URL;
-		if (realmTrack != null) {
-			result = activeConferenceApiUrl + realmTrack.getImgsrc();
-		}
-
-		realm.close();
-
-		return result;
+		scheduleFilterManager.createTrackFiltersDefinition(tracksMetadataCache.getTracks());
 	}
 
 	public void clearTracksData() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmTrack.class).clear();
-		realm.commitTransaction();
-		realm.close();
+		realmProvider.write(realm -> realm.allObjects(RealmTrack.class).clear());
+
+		tracksMetadataCache.clear();
 	}
 }
@@ -31,6 +31,7 @@ import android.support.v4.app.NotificationCompat;
 import android.util.Log;
 import android.widget.Toast;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -170,17 +171,16 @@ public class NotificationsManager {
 	}
 
 	private void unscheduleNotification(String slotId, boolean finishNotification) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		if (finishNotification) {
-			cancelPostTalkNotificationOnAlarmManager(slotId);
-			cancelTalkNotificationOnAlarmManager(slotId);
-			flagNotificationAsComplete(realm, slotId);
-		} else {
-			cancelTalkNotificationOnAlarmManager(slotId);
-			flagNotificationAsFiredForTalk(realm, slotId);
-		}
-		realm.commitTransaction();
+		realmProvider.write(realm -> {
+			if (finishNotification) {
+				cancelPostTalkNotificationOnAlarmManager(slotId);
+				cancelTalkNotificationOnAlarmManager(slotId);
+				flagNotificationAsComplete(realm, slotId);
+			} else {
+				cancelTalkNotificationOnAlarmManager(slotId);
+				flagNotificationAsFiredForTalk(realm, slotId);
+			}
+		});
 	}
 
 	private void cancelPostTalkNotificationOnAlarmManager(String slotId) {
@@ -219,28 +219,29 @@ public class NotificationsManager {
 	}
 
 	public void showNotificationForVote(String slotId, String title, String desc) {
-		final Realm realm = realmProvider.getRealm();
-		final RealmNotification realmNotification = realm
-				.where(RealmNotification.class)
-				.equalTo(RealmNotification.Contract.SLOT_ID, slotId).findFirst();
-
-		final Notification notification = createPostNotification(
-				title, desc, realmNotification, createTalkPendingIntentToOpenMainActivity(slotId));
+		final Notification notification = realmProvider.read(realm -> {
+			final RealmNotification realmNotification = realm
+					.where(RealmNotification.class)
+					.equalTo(RealmNotification.Contract.SLOT_ID, slotId).findFirst();
+			return createPostNotification(
+					title, desc, realmNotification, createTalkPendingIntentToOpenMainActivity(slotId));
+		});
 		notificationManager.notify(slotId.hashCode(), notification);
 
 		unscheduleNotification(slotId, true);
 	}
 
 	public void showNotificationForTalk(String slotId) {
-		final Realm realm = realmProvider.getRealm();
-		final RealmNotification realmNotification = realm.where(RealmNotification.class)
-				.equalTo(RealmNotification.Contract.SLOT_ID, slotId).findFirst();
-
-		if (isNotificationBeforeEvent(realmNotification)) {
-			final Notification notification = createTalkNotification(
-					realmNotification, createTalkPendingIntentToOpenMainActivity(slotId));
+		final Notification notification = realmProvider.read(realm -> {
+			final RealmNotification realmNotification = realm.where(RealmNotification.class)
+					.equalTo(RealmNotification.Contract.SLOT_ID, slotId).findFirst();
+			return isNotificationBeforeEvent(realmNotification)
+					? createTalkNotification(realmNotification, createTalkPendingIntentToOpenMainActivity(slotId))
+					: null;
+		});
+
+		if (notification != null) {
 			notificationManager.notify(slotId.hashCode(), notification);
-
 			notifyListenerAboutTalkNotification();
 		}
 
@@ -264,6 +265,7 @@ public class NotificationsManager {
 		for (RealmNotification rn : rr) {
 			scheduledNotifications.put(rn.getSlotId(), rn.isFiredForTalk());
 		}
+		realmProvider.release(realm);
 	}
 
 	public boolean isNotificationScheduled(String slotId) {
@@ -330,9 +332,15 @@ public class NotificationsManager {
 				> getNowMillis() - 600000;
 	}
 
-	public List<RealmNotification> getAlarms() {
-		final Realm realm = realmProvider.getRealm();
-		return realm.where(RealmNotification.class).findAll();
+	private List<NotificationConfiguration> getAlarms() {
+		return realmProvider.read(realm -> {
+			final RealmResults<RealmNotification> stored = realm.where(RealmNotification.class).findAll();
+			final List<NotificationConfiguration> result = new ArrayList<>(stored.size());
+			for (RealmNotification model : stored) {
+				result.add(NotificationConfiguration.create(model));
+			}
+			return result;
+		});
 	}
 
 	@SuppressLint("Wakelock")
@@ -343,11 +351,10 @@ public class NotificationsManager {
 				newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "AlarmService");
 		wakeLock.acquire();
 
-		final List<RealmNotification> notificationsList = getAlarms();
-		final int size = notificationsList.size();
+		final List<NotificationConfiguration> configurations = getAlarms();
+		final int size = configurations.size();
 		for (int i = 0; i < size; i++) {
-			final RealmNotification model = notificationsList.get(i);
-			final NotificationConfiguration cfg = NotificationConfiguration.create(model);
+			final NotificationConfiguration cfg = configurations.get(i);
 			cancelPostTalkNotificationOnAlarmManager(cfg.getSlotId());
 			cancelTalkNotificationOnAlarmManager(cfg.getSlotId());
 			scheduleNotificationFromConfiguration(cfg);
@@ -357,19 +364,17 @@ public class NotificationsManager {
 	}
 
 	private NotificationConfiguration getConfiguration(String slotID) {
-		final Realm realm = realmProvider.getRealm();
-		final RealmNotification rn = realm.where(RealmNotification.class).equalTo("slotId", slotID).findFirst();
-		realm.close();
-		if (rn == null) {
-			// talk schedule is already cancelled
-			return null;
-		}
-		return NotificationConfiguration.create(rn);
+		return realmProvider.read(realm -> {
+			final RealmNotification rn = realm.where(RealmNotification.class).equalTo("slotId", slotID).findFirst();
+			if (rn == null) {
+				// talk schedule is already cancelled
+				return null;
+			}
+			return NotificationConfiguration.create(rn);
+		});
 	}
 
 	private void storeConfiguration(NotificationConfiguration notifyModel) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
 		final RealmNotification model = new RealmNotification();
 		model.setTalkNotificationTime(notifyModel.getTalkNotificationTime());
 		model.setTalkTime(notifyModel.getTalkStartTime());
@@ -378,9 +383,7 @@ public class NotificationsManager {
 		model.setRoomName(notifyModel.getRoomName());
 		model.setTalkTitle(notifyModel.getTalkTitle());
 		model.setTalkEndTime(notifyModel.getEndTime());
-		realm.copyToRealmOrUpdate(model);
-		realm.commitTransaction();
-		realm.close();
+		realmProvider.write(realm -> realm.copyToRealmOrUpdate(model));
 	}
 
 	private static long getNowMillis() {
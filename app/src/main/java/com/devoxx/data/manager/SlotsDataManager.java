@@ -1,32 +1,42 @@
 package com.devoxx.data.manager;
 
-import com.annimon.stream.Collectors;
 import com.annimon.stream.Optional;
-import com.annimon.stream.Stream;
 import com.crashlytics.android.Crashlytics;
 import com.devoxx.R;
 import com.devoxx.android.fragment.schedule.ScheduleLineupFragment;
 import com.devoxx.connection.model.SlotApiModel;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.dao.SlotDao;
 import com.devoxx.data.downloader.SlotsDownloader;
+import com.devoxx.data.schedule.filter.ScheduleFilterEngine;
+import com.devoxx.data.schedule.index.SlotsIndex;
+import com.devoxx.data.schedule.index.SlotsSnapshot;
+import com.devoxx.data.schedule.search.TalkSearchIndex;
 import com.devoxx.utils.InfoUtil;
 import com.devoxx.utils.Logger;
 
-import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.joda.time.DateTime;
-import org.joda.time.DateTimeComparator;
+import org.joda.time.DateTimeZone;
 
 import android.content.Context;
-import android.content.Intent;
-import android.os.Handler;
-import android.os.HandlerThread;
-import android.os.Looper;
+import android.support.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @EBean(scope = EBean.Scope.Singleton)
 public class SlotsDataManager extends AbstractDataManager<SlotApiModel> {
@@ -40,112 +50,412 @@ public class SlotsDataManager extends AbstractDataManager<SlotApiModel> {
 	@Bean
 	InfoUtil infoUtil;
 
-	private List<SlotApiModel> allSlots = new ArrayList<>();
-	private List<SlotApiModel> talks = new ArrayList<>();
+	@Bean
+	TaskExecutor taskExecutor;
+
+	public interface SlotsListener {
+		/**
+		 * Called on the thread which published the snapshot.
+		 */
+		void onSlotsChanged(SlotsSnapshot snapshot);
+	}
 
-	@AfterInject void afterInject() {
-		allSlots.clear();
-		allSlots.addAll(slotDao.getAllSlots());
+	/**
+	 * New versions are published under {@link #writeLock} with the index already built,
+	 * readers never lock and only swap in an index of the version they have read.
+	 */
+	private final AtomicReference<SlotsSnapshot> snapshot =
+			new AtomicReference<>(SlotsSnapshot.notLoaded(0));
+	private final Object writeLock = new Object();
+	private final List<SlotsListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile TalkSearchIndex talkSearchIndex;
+	private volatile ScheduleFilterEngine filterEngine;
 
-		talks.clear();
-		talks.addAll(Stream.of(allSlots)
-				.filter(value -> value.isTalk() && !value.isBreak())
-				.filter(value1 -> !value1.notAllocated)
-				.collect(Collectors.<SlotApiModel>toList()));
+	private final Map<String, RefreshFlight> refreshes = new HashMap<>();
+
+	/**
+	 * Refresh of one conference. {@code queued} is taken when the refresh starts, requests
+	 * made while it runs are merged into {@code next}, started once it is done.
+	 */
+	private static final class RefreshFlight {
+		final Context context;
+		SlotsRefreshRequest queued;
+		SlotsRefreshRequest next;
+
+		RefreshFlight(Context context, SlotsRefreshRequest queued) {
+			this.context = context;
+			this.queued = queued;
+		}
 	}
 
 	public Optional<SlotApiModel> getSlotByTalkId(final String talkId) {
-		return Stream.of(allSlots).filter(value -> value.isTalk() && !value.isBreak()
-				&& value.talk.id.equals(talkId)).findFirst();
+		return Optional.ofNullable(getIndex().getByTalkId(talkId));
+	}
+
+	public Optional<SlotApiModel> getSlotBySlotId(final String slotId) {
+		return Optional.ofNullable(getIndex().getBySlotId(slotId));
 	}
 
 	public List<SlotApiModel> getLastTalks() {
-		return Stream.of(talks).distinct().collect(Collectors.toList());
+		return getIndex().getTalks();
 	}
 
 	public List<SlotApiModel> getSlotsForDay(final long timeMs) {
-		final DateTime requestedDate = new DateTime(timeMs);
-		final DateTime tmpDate = new DateTime();
-		final DateTimeComparator dateComparator = DateTimeComparator.getDateOnlyInstance();
+		final SlotsSnapshot current = snapshot.get();
+		if (current.isLoaded()) {
+			return getIndex().getSlotsForDay(timeMs);
+		}
 
-		return Stream.of(allSlots)
-				.filter(value -> dateComparator.compare(requestedDate, tmpDate.withMillis(
-						value.fromTimeMs())) == 0)
-				.filter(value1 -> !value1.notAllocated)
-				.distinct()
-				.collect(Collectors.toList());
+		final DateTime dayStart = new DateTime(timeMs).withTimeAtStartOfDay();
+		final long dayMs = dayStart.getMillis();
+		List<SlotApiModel> result = current.getCachedDaySlots(dayMs);
+		if (result == null) {
+			result = Collections.unmodifiableList(slotDao.getAllocatedSlotsBetween(
+					dayMs, dayStart.plusDays(1).getMillis()));
+			current.cacheDaySlots(dayMs, result);
+		}
+		return result;
 	}
 
-	public boolean fetchTalksSync(final SlotsDownloader.DownloadRequest downloadRequest) throws IOException {
-		updateTalksSync(downloadRequest, true, false);
+	public List<SlotApiModel> getTalksForTrack(final String trackId) {
+		return getIndex().getTalksForTrack(trackId);
+	}
 
-		return !Stream.of(allSlots).filter(SlotApiModel::isTalk)
-				.collect(Collectors.toList()).isEmpty();
+	public List<SlotApiModel> getSlotsForRoom(final String roomId) {
+		return getIndex().getSlotsForRoom(roomId);
 	}
 
-	private void updateTalksSync(SlotsDownloader.DownloadRequest downloadRequest, boolean withClear, boolean forPush) throws IOException {
-		if (withClear) {
-			allSlots.clear();
+	public TalkSearchIndex getTalkSearchIndex() {
+		final SlotsIndex index = getIndex();
+		TalkSearchIndex result = talkSearchIndex;
+		if (result == null || result.getVersion() != index.getVersion()) {
+			result = TalkSearchIndex.create(index.getVersion(), index.getTalks());
+			talkSearchIndex = result;
 		}
+		return result;
+	}
+
+	public ScheduleFilterEngine getFilterEngine() {
+		final SlotsIndex index = getIndex();
+		ScheduleFilterEngine result = filterEngine;
+		if (result == null || result.getVersion() != index.getVersion()
+				|| !result.isValidFor(DateTimeZone.getDefault())) {
+			result = ScheduleFilterEngine.create(index.getVersion(), index.getAllSlots());
+			filterEngine = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Changes whenever the stored schedule changes, does not load the schedule.
+	 */
+	public long getSlotsVersion() {
+		return snapshot.get().getVersion();
+	}
+
+	public SlotsSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+
+	public void addSlotsListener(SlotsListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeSlotsListener(SlotsListener listener) {
+		listeners.remove(listener);
+	}
 
+	public boolean fetchTalksSync(final SlotsDownloader.DownloadRequest downloadRequest) throws IOException {
+		updateTalksSync(downloadRequest, false);
+
+		return getIndex().hasTalks();
+	}
+
+	/**
+	 * @return false when the stored schedule is still up to date
+	 */
+	private boolean updateTalksSync(SlotsDownloader.DownloadRequest downloadRequest, boolean forPush) throws IOException {
+		final List<SlotApiModel> downloaded;
 		if (forPush) {
-			allSlots = slotsDownloader.downloadTalksForPush(downloadRequest);
+			downloaded = slotsDownloader.downloadTalksForPush(downloadRequest);
 		} else {
-			allSlots = slotsDownloader.downloadTalks(downloadRequest);
+			downloaded = slotsDownloader.downloadTalks(downloadRequest);
+		}
+
+		if (downloaded == null) {
+			return false;
 		}
 
-		slotDao.saveSlots(allSlots);
+		// slots are persisted by SlotsCache while downloading
+		final SlotsSnapshot published;
+		synchronized (writeLock) {
+			published = publish(downloaded);
+		}
+		notifyListeners(published);
+		return true;
+	}
+
+	private SlotsIndex getIndex() {
+		final SlotsSnapshot current = snapshot.get();
+		final SlotsIndex index = current.getIndex();
+		// Index is built lazily, Joda is not initialized yet when this bean is injected.
+		if (index != null && index.isValidFor(DateTimeZone.getDefault())) {
+			return index;
+		}
+
+		// Loading the stored schedule or a zone change keeps the version. When a writer
+		// published meanwhile, the rebuilt snapshot serves only this read.
+		final SlotsSnapshot rebuilt = SlotsSnapshot.create(current.getVersion(),
+				index != null ? index.getAllSlots() : slotDao.getAllSlots());
+		snapshot.compareAndSet(current, rebuilt);
+		return rebuilt.getIndex();
+	}
+
+	/**
+	 * Call under {@link #writeLock}, listeners are notified once it is released.
+	 *
+	 * @param slots whole new schedule, null when only Realm changed and nothing was loaded
+	 */
+	private SlotsSnapshot publish(@Nullable List<SlotApiModel> slots) {
+		final long version = snapshot.get().getVersion() + 1;
+		final SlotsSnapshot result = slots != null
+				? SlotsSnapshot.create(version, slots)
+				: SlotsSnapshot.notLoaded(version);
+		snapshot.set(result);
+		return result;
+	}
+
+	private void notifyListeners(SlotsSnapshot published) {
+		for (SlotsListener listener : listeners) {
+			listener.onSlotsChanged(published);
+		}
+		prebuildIndexes();
+	}
 
-		final List<SlotApiModel> talks = Stream.of(allSlots)
-				.filter(value -> value.talk != null && !value.isBreak())
-				.collect(Collectors.<SlotApiModel>toList());
-		this.talks.clear();
-		this.talks.addAll(talks);
+	/**
+	 * Builds the indexes of the new version before screens ask for them.
+	 */
+	private void prebuildIndexes() {
+		taskExecutor.executeUnique(TaskExecutor.Lane.CPU, "slots-indexes", () -> {
+			getFilterEngine();
+			getTalkSearchIndex();
+		});
 	}
 
 	@Override
 	public void clearData() {
-		allSlots.clear();
-		talks.clear();
-		slotDao.clearData();
+		final SlotsSnapshot published;
+		synchronized (writeLock) {
+			slotDao.clearData();
+			published = publish(new ArrayList<>());
+		}
+		notifyListeners(published);
 	}
 
 	public void updateSlotsAsync(Context context, SlotsDownloader.DownloadRequest downloadRequest) {
-		final HandlerThread handlerThread = new HandlerThread("updateSlotsAsync");
-		handlerThread.start();
-		final Looper looper = handlerThread.getLooper();
-		new Handler(looper).post(() -> {
-			try {
-				if (slotsDownloader.isDownloadNeeded(downloadRequest.getConfCode())) {
-					updateTalksSync(downloadRequest, false, false);
-					context.sendBroadcast(ScheduleLineupFragment.getRefreshIntent());
+		requestRefresh(context, SlotsRefreshRequest.lazy(downloadRequest));
+	}
+
+	public void forceUpdateSlotsAsync(Context context, SlotsDownloader.DownloadRequest downloadRequest) {
+		requestRefresh(context, SlotsRefreshRequest.full(downloadRequest));
+	}
+
+	/**
+	 * Refetches only the days touched by a push. Slot ids are mapped to their days
+	 * through the stored schedule; anything that cannot be mapped falls back to a full update.
+	 */
+	public void syncChangedSlotsAsync(Context context, SlotsDownloader.DownloadRequest downloadRequest,
+			List<String> changedDays, List<String> changedSlotIds) {
+		requestRefresh(context, SlotsRefreshRequest.days(downloadRequest, changedDays, changedSlotIds));
+	}
+
+	/**
+	 * Single flight per conference: a request joins a refresh which has not started yet,
+	 * a lazy request also joins a running one. Other requests made while a refresh runs
+	 * are merged into one follow-up refresh, the running download may miss their changes.
+	 */
+	private void requestRefresh(Context context, SlotsRefreshRequest request) {
+		final String confCode = request.getConfCode();
+		synchronized (refreshes) {
+			final RefreshFlight flight = refreshes.get(confCode);
+			if (flight == null) {
+				refreshes.put(confCode, new RefreshFlight(context, request));
+				submitRefresh(confCode);
+			} else if (flight.queued != null) {
+				flight.queued = flight.queued.merge(request);
+			} else if (request.kind != SlotsRefreshRequest.Kind.LAZY) {
+				flight.next = flight.next != null ? flight.next.merge(request) : request;
+			}
+		}
+	}
+
+	private void submitRefresh(String confCode) {
+		if (!taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> runRefresh(confCode))) {
+			final RefreshFlight flight;
+			synchronized (refreshes) {
+				flight = refreshes.remove(confCode);
+			}
+			onRefreshFailed(flight.queued,
+					new RejectedExecutionException("Schedule refresh rejected for " + confCode));
+		}
+	}
+
+	private void runRefresh(String confCode) {
+		final RefreshFlight flight;
+		final SlotsRefreshRequest request;
+		synchronized (refreshes) {
+			flight = refreshes.get(confCode);
+			request = flight.queued;
+			flight.queued = null;
+		}
+
+		try {
+			performRefresh(flight.context, request);
+		} finally {
+			synchronized (refreshes) {
+				if (flight.next != null) {
+					flight.queued = flight.next;
+					flight.next = null;
+					submitRefresh(confCode);
+				} else {
+					refreshes.remove(confCode);
 				}
-			} catch (IOException e) {
-				Crashlytics.logException(e);
-				Logger.exc(e);
 			}
-		});
+		}
 	}
 
-	public void forceUpdateSlotsAsync(Context context, SlotsDownloader.DownloadRequest downloadRequest) {
-		final Intent notifyIntent = ScheduleLineupFragment.getReFetchIntent();
-		forceUpdateSlotsAsyncHelper(context, downloadRequest, notifyIntent);
-	}
-
-	private void forceUpdateSlotsAsyncHelper(Context context, SlotsDownloader.DownloadRequest downloadRequest, Intent notifyIntent) {
-		final HandlerThread handlerThread = new HandlerThread("forceUpdateSlotsAsync");
-		handlerThread.start();
-		final Looper looper = handlerThread.getLooper();
-		new Handler(looper).post(() -> {
-			try {
-				infoUtil.showToast(R.string.updating_schedule_data);
-				updateTalksSync(downloadRequest, true, true);
-				context.sendBroadcast(notifyIntent);
-				infoUtil.showToast(R.string.updated_schedule_data);
-			} catch (IOException e) {
-				Crashlytics.logException(e);
-				infoUtil.showToast(R.string.connection_error);
+	private void performRefresh(Context context, SlotsRefreshRequest request) {
+		final SlotsDownloader.DownloadRequest downloadRequest = request.downloadRequest;
+		switch (request.kind) {
+			case LAZY:
+				try {
+					refreshIfStale(context, downloadRequest);
+				} catch (IOException e) {
+					onRefreshFailed(request, e);
+				}
+				break;
+			case DAYS:
+				try {
+					final List<String> days = resolveChangedDays(downloadRequest,
+							request.changedDays, request.changedSlotIds);
+					final boolean changed = days != null
+							? updateDaysSync(downloadRequest, days, request.changedSlotIds)
+							: updateTalksSync(downloadRequest, true);
+					if (changed) {
+						context.sendBroadcast(ScheduleLineupFragment.getReFetchIntent());
+					}
+					if (request.lazyCheck) {
+						refreshIfStale(context, downloadRequest);
+					}
+				} catch (IOException e) {
+					onRefreshFailed(request, e);
+				}
+				break;
+			case FULL:
+				try {
+					infoUtil.showToast(R.string.updating_schedule_data);
+					if (updateTalksSync(downloadRequest, true)) {
+						context.sendBroadcast(ScheduleLineupFragment.getReFetchIntent());
+					}
+					infoUtil.showToast(R.string.updated_schedule_data);
+				} catch (IOException e) {
+					onRefreshFailed(request, e);
+				}
+				break;
+		}
+	}
+
+	private void refreshIfStale(Context context, SlotsDownloader.DownloadRequest downloadRequest) throws IOException {
+		if (slotsDownloader.isDownloadNeeded(downloadRequest.getConfCode())
+				&& updateTalksSync(downloadRequest, false)) {
+			context.sendBroadcast(ScheduleLineupFragment.getRefreshIntent());
+		}
+	}
+
+	/**
+	 * Only a full update was asked for by the user, other refreshes fail quietly.
+	 */
+	private void onRefreshFailed(SlotsRefreshRequest request, Exception e) {
+		Crashlytics.logException(e);
+		if (request.kind == SlotsRefreshRequest.Kind.FULL) {
+			infoUtil.showToast(R.string.connection_error);
+		} else {
+			Logger.exc(e);
+		}
+	}
+
+	@Nullable
+	private List<String> resolveChangedDays(SlotsDownloader.DownloadRequest downloadRequest,
+			Collection<String> changedDays, Collection<String> changedSlotIds) {
+		final Set<String> result = new LinkedHashSet<>();
+		for (String day : changedDays) {
+			result.add(day.toLowerCase(Locale.US));
+		}
+
+		for (String slotId : changedSlotIds) {
+			final SlotApiModel slot = getIndex().getBySlotId(slotId);
+			if (slot == null || slot.day == null) {
+				// a new slot, its day is unknown
+				return null;
 			}
-		});
+			result.add(slot.day.toLowerCase(Locale.US));
+		}
+
+		if (result.isEmpty() || !downloadRequest.getDays().containsAll(result)) {
+			return null;
+		}
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * Changed slots are mapped to their stored day, a slot moved to another day is missing
+	 * from the refetched days. Its new day is unknown, so the whole schedule is refetched.
+	 */
+	private boolean updateDaysSync(SlotsDownloader.DownloadRequest downloadRequest, List<String> days,
+			Collection<String> changedSlotIds) throws IOException {
+		final List<SlotApiModel> downloaded = slotsDownloader.downloadChangedDays(downloadRequest.forDays(days));
+		if (downloaded == null) {
+			return false;
+		}
+
+		if (!changedSlotIds.isEmpty()) {
+			final Set<String> missing = new HashSet<>(changedSlotIds);
+			for (SlotApiModel slot : downloaded) {
+				missing.remove(slot.slotId);
+			}
+			if (!missing.isEmpty()) {
+				Logger.l("Changed slots not found in refetched days: " + missing);
+				return updateTalksSync(downloadRequest, true);
+			}
+		}
+
+		final SlotsSnapshot published;
+		synchronized (writeLock) {
+			slotDao.replaceSlotsForDays(days, downloaded);
+
+			final SlotsIndex index = snapshot.get().getIndex();
+			List<SlotApiModel> merged = null;
+			if (index != null) {
+				final List<SlotApiModel> current = index.getAllSlots();
+				final Set<String> downloadedIds = new HashSet<>(downloaded.size());
+				for (SlotApiModel slot : downloaded) {
+					downloadedIds.add(slot.slotId);
+				}
+
+				merged = new ArrayList<>(current.size());
+				for (SlotApiModel slot : current) {
+					// a slot moved into a refetched day is replaced by its downloaded copy
+					final boolean refetched = downloadedIds.contains(slot.slotId)
+							|| (slot.day != null && days.contains(slot.day.toLowerCase(Locale.US)));
+					if (!refetched) {
+						merged.add(slot);
+					}
+				}
+				merged.addAll(downloaded);
+			}
+			published = publish(merged);
+		}
+		notifyListeners(published);
+		return true;
 	}
 }
@@ -0,0 +1,86 @@
+package com.devoxx.data.manager;
+
+import com.devoxx.data.downloader.SlotsDownloader;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Schedule refresh of a conference. Requests of the same conference made before
+ * a refresh starts are merged into it, the stronger kind wins. A lazy request merged
+ * into a days refresh keeps its staleness check.
+ */
+final class SlotsRefreshRequest {
+
+	enum Kind {
+		/**
+		 * Downloads the schedule only when the server says it changed.
+		 */
+		LAZY,
+		/**
+		 * Downloads the days touched by a push, falls back to {@link #FULL}
+		 * when slots can't be mapped to days.
+		 */
+		DAYS,
+		FULL
+	}
+
+	final Kind kind;
+	final SlotsDownloader.DownloadRequest downloadRequest;
+	final Set<String> changedDays;
+	final Set<String> changedSlotIds;
+	/**
+	 * Days refresh followed by the {@link Kind#LAZY} check.
+	 */
+	final boolean lazyCheck;
+
+	private SlotsRefreshRequest(Kind kind, SlotsDownloader.DownloadRequest downloadRequest,
+								Set<String> changedDays, Set<String> changedSlotIds, boolean lazyCheck) {
+		this.kind = kind;
+		this.downloadRequest = downloadRequest;
+		this.changedDays = Collections.unmodifiableSet(changedDays);
+		this.changedSlotIds = Collections.unmodifiableSet(changedSlotIds);
+		this.lazyCheck = lazyCheck;
+	}
+
+	static SlotsRefreshRequest lazy(SlotsDownloader.DownloadRequest downloadRequest) {
+		return new SlotsRefreshRequest(Kind.LAZY, downloadRequest,
+				Collections.<String>emptySet(), Collections.<String>emptySet(), false);
+	}
+
+	static SlotsRefreshRequest full(SlotsDownloader.DownloadRequest downloadRequest) {
+		return new SlotsRefreshRequest(Kind.FULL, downloadRequest,
+				Collections.<String>emptySet(), Collections.<String>emptySet(), false);
+	}
+
+	static SlotsRefreshRequest days(SlotsDownloader.DownloadRequest downloadRequest,
+									Collection<String> changedDays, Collection<String> changedSlotIds) {
+		return new SlotsRefreshRequest(Kind.DAYS, downloadRequest,
+				new LinkedHashSet<>(changedDays), new LinkedHashSet<>(changedSlotIds), false);
+	}
+
+	String getConfCode() {
+		return downloadRequest.getConfCode();
+	}
+
+	/**
+	 * @param newer request made after this one, its download request is kept
+	 */
+	SlotsRefreshRequest merge(SlotsRefreshRequest newer) {
+		final Kind mergedKind = kind.compareTo(newer.kind) >= 0 ? kind : newer.kind;
+		if (mergedKind != Kind.DAYS) {
+			return new SlotsRefreshRequest(mergedKind, newer.downloadRequest,
+					Collections.<String>emptySet(), Collections.<String>emptySet(), false);
+		}
+
+		final Set<String> days = new LinkedHashSet<>(changedDays);
+		days.addAll(newer.changedDays);
+		final Set<String> slotIds = new LinkedHashSet<>(changedSlotIds);
+		slotIds.addAll(newer.changedSlotIds);
+		final boolean mergedLazyCheck = lazyCheck || newer.lazyCheck
+				|| kind == Kind.LAZY || newer.kind == Kind.LAZY;
+		return new SlotsRefreshRequest(Kind.DAYS, newer.downloadRequest, days, slotIds, mergedLazyCheck);
+	}
+}
@@ -1,12 +1,14 @@
 package com.devoxx.data.manager;
 
-import com.devoxx.connection.model.SpeakerShortApiModel;
+import com.devoxx.connection.model.SlotApiModel;
+import com.devoxx.connection.model.TalkSpeakerApiModel;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.downloader.SpeakersDownloader;
 import com.devoxx.data.model.RealmSpeaker;
 import com.devoxx.data.model.RealmSpeakerShort;
+import com.devoxx.data.schedule.search.SpeakerSearchIndex;
 
-import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
@@ -14,11 +16,11 @@ import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import io.realm.Case;
 import io.realm.Realm;
 
 @EBean(scope = EBean.Scope.Singleton)
@@ -30,16 +32,31 @@ public class SpeakersDataManager extends AbstractDataManager<RealmSpeaker> {
 	@Bean
 	RealmProvider realmProvider;
 
+	@Bean
+	SlotsDataManager slotsDataManager;
+
+	@Bean
+	TaskExecutor taskExecutor;
+
 	private Map<String, String> uuidToImageUrl;
 
-	public List<SpeakerShortApiModel> fetchSpeakersSync(final String confCode) throws IOException {
-		return speakersDownloader.downloadSpeakersShortInfoList(confCode);
+	private SpeakerSearchIndex speakerSearchIndex;
+	private long speakerSearchIndexSlotsVersion;
+
+	public void fetchSpeakersSync(final String confCode) throws IOException {
+		speakersDownloader.downloadSpeakersShortInfoList(confCode);
+		invalidateSpeakerSearchIndex();
 	}
 
-	@Background
 	public void fetchSpeakerAsync(
 			final String confCode, final String uuid,
 			final IDataManagerListener<RealmSpeaker> listener) {
+		if (!taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> fetchSpeakerSync(confCode, uuid, listener))) {
+			notifyAboutFailed(listener, new IOException("Speaker download rejected"));
+		}
+	}
+
+	private void fetchSpeakerSync(String confCode, String uuid, IDataManagerListener<RealmSpeaker> listener) {
 		try {
 			notifyAboutStart(listener);
 			final RealmSpeaker result;
@@ -47,6 +64,8 @@ public class SpeakersDataManager extends AbstractDataManager<RealmSpeaker> {
 				result = getByUuid(uuid);
 			} else {
 				result = speakersDownloader.downloadSpeakerSync(confCode, uuid);
+				// company of the speaker is searchable now
+				invalidateSpeakerSearchIndex();
 			}
 			notifyAboutSuccess(listener, result);
 		} catch (IOException e) {
@@ -62,40 +81,75 @@ public class SpeakersDataManager extends AbstractDataManager<RealmSpeaker> {
 		final Realm realm = realmProvider.getRealm();
 		final RealmSpeaker result = realm.where(RealmSpeaker.class).
 				equalTo(RealmSpeaker.Contract.UUID, uuid).findFirst();
-		realm.close();
+		realmProvider.release(realm);
 
 		return result;
 	}
 
-	public List<RealmSpeakerShort> getAllShortSpeakers() {
-		final Realm realm = realmProvider.getRealm();
-		final List<RealmSpeakerShort> result = realm.allObjects(RealmSpeakerShort.class);
-		realm.close();
-
-		return result;
+	/**
+	 * Index is rebuilt after speakers or the schedule (talk titles) change.
+	 */
+	public SpeakerSearchIndex getSpeakerSearchIndex() {
+		synchronized (this) {
+			final long slotsVersion = slotsDataManager.getSlotsVersion();
+			if (speakerSearchIndex == null || speakerSearchIndexSlotsVersion != slotsVersion) {
+				speakerSearchIndex = createSpeakerSearchIndex();
+				speakerSearchIndexSlotsVersion = slotsVersion;
+			}
+			return speakerSearchIndex;
+		}
 	}
 
-	public List<RealmSpeakerShort> getAllShortSpeakersWithFilter(String query) {
+	private SpeakerSearchIndex createSpeakerSearchIndex() {
 		final Realm realm = realmProvider.getRealm();
-		final List<RealmSpeakerShort> result = realm
-				.where(RealmSpeakerShort.class)
-				.contains("firstName", query, Case.INSENSITIVE)
-				.or()
-				.contains("lastName", query, Case.INSENSITIVE)
-				.findAll();
-		realm.close();
 
-		return result;
+		final List<RealmSpeakerShort> shortSpeakers = realm.allObjects(RealmSpeakerShort.class);
+		final List<SpeakerSearchIndex.Speaker> speakers = new ArrayList<>(shortSpeakers.size());
+		for (RealmSpeakerShort speaker : shortSpeakers) {
+			speakers.add(new SpeakerSearchIndex.Speaker(speaker.getUuid(),
+					speaker.getFirstName(), speaker.getLastName(), speaker.getAvatarURL()));
+		}
+
+		final Map<String, String> companies = new HashMap<>();
+		for (RealmSpeaker speaker : realm.allObjects(RealmSpeaker.class)) {
+			companies.put(speaker.getUuid(), speaker.getCompany());
+		}
+
+		realmProvider.release(realm);
+
+		final Map<String, List<String>> talkTitles = new HashMap<>();
+		for (SlotApiModel slot : slotsDataManager.getLastTalks()) {
+			if (slot.talk.speakers == null) {
+				continue;
+			}
+			for (TalkSpeakerApiModel speaker : slot.talk.speakers) {
+				final String uuid = TalkSpeakerApiModel.getUuidFromLink(speaker.link);
+				List<String> titles = talkTitles.get(uuid);
+				if (titles == null) {
+					titles = new ArrayList<>();
+					talkTitles.put(uuid, titles);
+				}
+				titles.add(slot.talk.title);
+			}
+		}
+
+		return SpeakerSearchIndex.create(speakers, companies, talkTitles);
+	}
+
+	private void invalidateSpeakerSearchIndex() {
+		synchronized (this) {
+			speakerSearchIndex = null;
+		}
 	}
 
 	@Override
 	public void clearData() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmSpeaker.class).clear();
-		realm.allObjects(RealmSpeakerShort.class).clear();
-		realm.commitTransaction();
-		realm.close();
+		realmProvider.write(realm -> {
+			realm.allObjects(RealmSpeaker.class).clear();
+			realm.allObjects(RealmSpeakerShort.class).clear();
+		});
+
+		invalidateSpeakerSearchIndex();
 	}
 
 	@Nullable
@@ -118,6 +172,6 @@ public class SpeakersDataManager extends AbstractDataManager<RealmSpeaker> {
 			uuidToImageUrl.put(speaker.getUuid(), speaker.getAvatarURL());
 		}
 
-		realm.close();
+		realmProvider.release(realm);
 	}
 }
@@ -46,6 +46,43 @@ public class RealmConference extends RealmObject {
 		// Default one.
 	}
 
+	/**
+	 * Detached copy, floors included.
+	 */
+	public RealmConference(RealmConference conference) {
+		id = conference.getId();
+		confType = conference.getConfType();
+		description = conference.getDescription();
+		confIcon = conference.getConfIcon();
+		venue = conference.getVenue();
+		address = conference.getAddress();
+		country = conference.getCountry();
+		latitude = conference.getLatitude();
+		longitude = conference.getLongitude();
+		fromDate = conference.getFromDate();
+		toDate = conference.getToDate();
+		wwwURL = conference.getWwwURL();
+		regURL = conference.getRegURL();
+		cfpURL = conference.getCfpURL();
+		votingURL = conference.getVotingURL();
+		votingEnabled = conference.getVotingEnabled();
+		cfpEndpoint = conference.getCfpEndpoint();
+		cfpVersion = conference.getCfpVersion();
+		youTubeId = conference.getYouTubeId();
+		capacity = conference.getCapacity();
+		sessions = conference.getSessions();
+		hashtag = conference.getHashtag();
+		talkURL = conference.getTalkURL();
+		splashImgURL = conference.getSplashImgURL();
+		integrationId = conference.getIntegrationId();
+		floors = new RealmList<>();
+		if (conference.getFloors() != null) {
+			for (RealmFloor floor : conference.getFloors()) {
+				floors.add(new RealmFloor(floor));
+			}
+		}
+	}
+
 	public RealmConference(ConferenceApiModel model) {
 		id = model.id;
 		confType = model.confType;
@@ -14,6 +14,13 @@ public class RealmFloor extends RealmObject {
 		// Default.
 	}
 
+	public RealmFloor(RealmFloor floor) {
+		img = floor.getImg();
+		title = floor.getTitle();
+		tabpos = floor.getTabpos();
+		target = floor.getTarget();
+	}
+
 	public RealmFloor(FloorApiModel floor) {
 		img = floor.img;
 		title = floor.title;
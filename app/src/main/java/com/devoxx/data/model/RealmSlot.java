@@ -0,0 +1,155 @@
+package com.devoxx.data.model;
+
+import com.devoxx.connection.model.SlotApiModel;
+
+import io.realm.RealmObject;
+import io.realm.annotations.Index;
+import io.realm.annotations.PrimaryKey;
+
+public class RealmSlot extends RealmObject {
+
+	@PrimaryKey
+	private String slotId;
+	private String roomId;
+	private String roomSetup;
+	private String roomName;
+	private int roomCapacity;
+	private String fromTime;
+	private String toTime;
+	private String day;
+	private boolean notAllocated;
+	@Index
+	private long fromTimeMillis;
+	private long toTimeMillis;
+	private RealmSlotTalk talk;
+	private RealmSlotBreak slotBreak;
+
+	public static RealmSlot fromApi(SlotApiModel apiModel) {
+		final RealmSlot result = new RealmSlot();
+		result.setSlotId(apiModel.slotId);
+		result.setRoomId(apiModel.roomId);
+		result.setRoomSetup(apiModel.roomSetup);
+		result.setRoomName(apiModel.roomName);
+		result.setRoomCapacity(apiModel.roomCapacity);
+		result.setFromTime(apiModel.fromTime);
+		result.setToTime(apiModel.toTime);
+		result.setDay(apiModel.day);
+		result.setNotAllocated(apiModel.notAllocated);
+		result.setFromTimeMillis(apiModel.fromTimeMs());
+		result.setToTimeMillis(apiModel.toTimeMs());
+		result.setTalk(apiModel.talk != null ? RealmSlotTalk.fromApi(apiModel.talk) : null);
+		result.setSlotBreak(apiModel.slotBreak != null ? RealmSlotBreak.fromApi(apiModel.slotBreak) : null);
+		return result;
+	}
+
+	public String getSlotId() {
+		return slotId;
+	}
+
+	public void setSlotId(String slotId) {
+		this.slotId = slotId;
+	}
+
+	public String getRoomId() {
+		return roomId;
+	}
+
+	public void setRoomId(String roomId) {
+		this.roomId = roomId;
+	}
+
+	public String getRoomSetup() {
+		return roomSetup;
+	}
+
+	public void setRoomSetup(String roomSetup) {
+		this.roomSetup = roomSetup;
+	}
+
+	public String getRoomName() {
+		return roomName;
+	}
+
+	public void setRoomName(String roomName) {
+		this.roomName = roomName;
+	}
+
+	public int getRoomCapacity() {
+		return roomCapacity;
+	}
+
+	public void setRoomCapacity(int roomCapacity) {
+		this.roomCapacity = roomCapacity;
+	}
+
+	public String getFromTime() {
+		return fromTime;
+	}
+
+	public void setFromTime(String fromTime) {
+		this.fromTime = fromTime;
+	}
+
+	public String getToTime() {
+		return toTime;
+	}
+
+	public void setToTime(String toTime) {
+		this.toTime = toTime;
+	}
+
+	public String getDay() {
+		return day;
+	}
+
+	public void setDay(String day) {
+		this.day = day;
+	}
+
+	public boolean isNotAllocated() {
+		return notAllocated;
+	}
+
+	public void setNotAllocated(boolean notAllocated) {
+		this.notAllocated = notAllocated;
+	}
+
+	public long getFromTimeMillis() {
+		return fromTimeMillis;
+	}
+
+	public void setFromTimeMillis(long fromTimeMillis) {
+		this.fromTimeMillis = fromTimeMillis;
+	}
+
+	public long getToTimeMillis() {
+		return toTimeMillis;
+	}
+
+	public void setToTimeMillis(long toTimeMillis) {
+		this.toTimeMillis = toTimeMillis;
+	}
+
+	public RealmSlotTalk getTalk() {
+		return talk;
+	}
+
+	public void setTalk(RealmSlotTalk talk) {
+		this.talk = talk;
+	}
+
+	public RealmSlotBreak getSlotBreak() {
+		return slotBreak;
+	}
+
+	public void setSlotBreak(RealmSlotBreak slotBreak) {
+		this.slotBreak = slotBreak;
+	}
+
+	public static class Contract {
+		public static final String SLOT_ID = "slotId";
+		public static final String FROM_TIME_MILLIS = "fromTimeMillis";
+		public static final String NOT_ALLOCATED = "notAllocated";
+		public static final String DAY = "day";
+	}
+}
@@ -0,0 +1,86 @@
+package com.devoxx.data.model;
+
+import com.devoxx.connection.model.BreakApiModel;
+
+import io.realm.RealmObject;
+
+public class RealmSlotBreak extends RealmObject {
+
+	private String id;
+	private String nameEN;
+	private String nameFR;
+	private String roomId;
+	private String roomName;
+	private String roomSetup;
+	private int roomCapacity;
+
+	public static RealmSlotBreak fromApi(BreakApiModel apiModel) {
+		final RealmSlotBreak result = new RealmSlotBreak();
+		result.setId(apiModel.id);
+		result.setNameEN(apiModel.nameEN);
+		result.setNameFR(apiModel.nameFR);
+		if (apiModel.room != null) {
+			result.setRoomId(apiModel.room.id);
+			result.setRoomName(apiModel.room.name);
+			result.setRoomSetup(apiModel.room.setup);
+			result.setRoomCapacity(apiModel.room.capacity);
+		}
+		return result;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getNameEN() {
+		return nameEN;
+	}
+
+	public void setNameEN(String nameEN) {
+		this.nameEN = nameEN;
+	}
+
+	public String getNameFR() {
+		return nameFR;
+	}
+
+	public void setNameFR(String nameFR) {
+		this.nameFR = nameFR;
+	}
+
+	public String getRoomId() {
+		return roomId;
+	}
+
+	public void setRoomId(String roomId) {
+		this.roomId = roomId;
+	}
+
+	public String getRoomName() {
+		return roomName;
+	}
+
+	public void setRoomName(String roomName) {
+		this.roomName = roomName;
+	}
+
+	public String getRoomSetup() {
+		return roomSetup;
+	}
+
+	public void setRoomSetup(String roomSetup) {
+		this.roomSetup = roomSetup;
+	}
+
+	public int getRoomCapacity() {
+		return roomCapacity;
+	}
+
+	public void setRoomCapacity(int roomCapacity) {
+		this.roomCapacity = roomCapacity;
+	}
+}
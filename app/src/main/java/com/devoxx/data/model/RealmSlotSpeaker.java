@@ -0,0 +1,56 @@
+package com.devoxx.data.model;
+
+import com.devoxx.connection.model.TalkSpeakerApiModel;
+
+import io.realm.RealmObject;
+
+public class RealmSlotSpeaker extends RealmObject {
+
+	private String name;
+	private String linkHref;
+	private String linkRel;
+	private String linkTitle;
+
+	public static RealmSlotSpeaker fromApi(TalkSpeakerApiModel apiModel) {
+		final RealmSlotSpeaker result = new RealmSlotSpeaker();
+		result.setName(apiModel.name);
+		if (apiModel.link != null) {
+			result.setLinkHref(apiModel.link.href);
+			result.setLinkRel(apiModel.link.rel);
+			result.setLinkTitle(apiModel.link.title);
+		}
+		return result;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getLinkHref() {
+		return linkHref;
+	}
+
+	public void setLinkHref(String linkHref) {
+		this.linkHref = linkHref;
+	}
+
+	public String getLinkRel() {
+		return linkRel;
+	}
+
+	public void setLinkRel(String linkRel) {
+		this.linkRel = linkRel;
+	}
+
+	public String getLinkTitle() {
+		return linkTitle;
+	}
+
+	public void setLinkTitle(String linkTitle) {
+		this.linkTitle = linkTitle;
+	}
+}
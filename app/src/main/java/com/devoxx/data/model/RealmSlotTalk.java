@@ -0,0 +1,113 @@
+package com.devoxx.data.model;
+
+import com.devoxx.connection.model.TalkFullApiModel;
+import com.devoxx.connection.model.TalkSpeakerApiModel;
+
+import io.realm.RealmList;
+import io.realm.RealmObject;
+
+public class RealmSlotTalk extends RealmObject {
+
+	private String id;
+	private String title;
+	private String talkType;
+	private String track;
+	private String trackId;
+	private String lang;
+	private String summary;
+	private String summaryAsHtml;
+	private RealmList<RealmSlotSpeaker> speakers;
+
+	public static RealmSlotTalk fromApi(TalkFullApiModel apiModel) {
+		final RealmSlotTalk result = new RealmSlotTalk();
+		result.setId(apiModel.id);
+		result.setTitle(apiModel.title);
+		result.setTalkType(apiModel.talkType);
+		result.setTrack(apiModel.track);
+		result.setTrackId(apiModel.trackId);
+		result.setLang(apiModel.lang);
+		result.setSummary(apiModel.summary);
+		result.setSummaryAsHtml(apiModel.summaryAsHtml);
+
+		final RealmList<RealmSlotSpeaker> speakers = new RealmList<>();
+		if (apiModel.speakers != null) {
+			for (TalkSpeakerApiModel speaker : apiModel.speakers) {
+				speakers.add(RealmSlotSpeaker.fromApi(speaker));
+			}
+		}
+		result.setSpeakers(speakers);
+		return result;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getTalkType() {
+		return talkType;
+	}
+
+	public void setTalkType(String talkType) {
+		this.talkType = talkType;
+	}
+
+	public String getTrack() {
+		return track;
+	}
+
+	public void setTrack(String track) {
+		this.track = track;
+	}
+
+	public String getTrackId() {
+		return trackId;
+	}
+
+	public void setTrackId(String trackId) {
+		this.trackId = trackId;
+	}
+
+	public String getLang() {
+		return lang;
+	}
+
+	public void setLang(String lang) {
+		this.lang = lang;
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public void setSummary(String summary) {
+		this.summary = summary;
+	}
+
+	public String getSummaryAsHtml() {
+		return summaryAsHtml;
+	}
+
+	public void setSummaryAsHtml(String summaryAsHtml) {
+		this.summaryAsHtml = summaryAsHtml;
+	}
+
+	public RealmList<RealmSlotSpeaker> getSpeakers() {
+		return speakers;
+	}
+
+	public void setSpeakers(RealmList<RealmSlotSpeaker> speakers) {
+		this.speakers = speakers;
+	}
+}
@@ -0,0 +1,165 @@
+package com.devoxx.data.schedule.filter;
+
+import com.annimon.stream.function.Predicate;
+import com.devoxx.connection.model.SlotApiModel;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Every slot of a schedule version gets a dense ordinal, tracks, days, rooms and
+ * talks are kept as bit sets of ordinals, so filter combinations are bitwise operations.
+ */
+public final class ScheduleFilterEngine {
+
+	private final long version;
+	private final DateTimeZone zone;
+	private final List<SlotApiModel> slots;
+	private final Map<String, Integer> ordinalsBySlotId;
+	private final BitSet talks;
+	private final Map<String, BitSet> byTrack;
+	private final Map<String, BitSet> byTrackName;
+	private final Map<Long, BitSet> byDay;
+	private final Map<String, BitSet> byRoom;
+
+	public static ScheduleFilterEngine create(long version, List<SlotApiModel> slots) {
+		return new ScheduleFilterEngine(version, slots, DateTimeZone.getDefault());
+	}
+
+	private ScheduleFilterEngine(long version, List<SlotApiModel> slots, DateTimeZone zone) {
+		this.version = version;
+		this.zone = zone;
+		this.slots = slots;
+
+		final int size = slots.size();
+		ordinalsBySlotId = new HashMap<>(size);
+		talks = new BitSet(size);
+		byTrack = new HashMap<>();
+		byTrackName = new HashMap<>();
+		byDay = new HashMap<>();
+		byRoom = new HashMap<>();
+
+		final DateTime tmpDate = new DateTime(0, zone);
+		for (int ordinal = 0; ordinal < size; ordinal++) {
+			final SlotApiModel slot = slots.get(ordinal);
+			ordinalsBySlotId.put(slot.slotId, ordinal);
+			bucket(byRoom, slot.roomId).set(ordinal);
+
+			if (slot.notAllocated) {
+				continue;
+			}
+
+			final long dayMs = tmpDate.withMillis(slot.fromTimeMs()).withTimeAtStartOfDay().getMillis();
+			bucket(byDay, dayMs).set(ordinal);
+
+			if (slot.isTalk()) {
+				talks.set(ordinal);
+				bucket(byTrack, normalizeKey(slot.talk.trackId)).set(ordinal);
+				bucket(byTrackName, normalizeKey(slot.talk.track)).set(ordinal);
+			}
+		}
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isValidFor(DateTimeZone currentZone) {
+		return zone.equals(currentZone);
+	}
+
+	public BitSet talks() {
+		return (BitSet) talks.clone();
+	}
+
+	public BitSet tracks(Collection<String> trackIds) {
+		final BitSet result = new BitSet(slots.size());
+		for (String trackId : trackIds) {
+			orBucket(result, byTrack.get(normalizeKey(trackId)));
+		}
+		return result;
+	}
+
+	/**
+	 * Talks whose track id or track name equals any of the keys, ignoring case.
+	 */
+	public BitSet tracksByIdOrName(Collection<String> keys) {
+		final BitSet result = new BitSet(slots.size());
+		for (String key : keys) {
+			orBucket(result, byTrack.get(normalizeKey(key)));
+			orBucket(result, byTrackName.get(normalizeKey(key)));
+		}
+		return result;
+	}
+
+	public BitSet days(Collection<Long> daysMs) {
+		final BitSet result = new BitSet(slots.size());
+		final DateTime tmpDate = new DateTime(0, zone);
+		for (Long dayMs : daysMs) {
+			orBucket(result, byDay.get(tmpDate.withMillis(dayMs).withTimeAtStartOfDay().getMillis()));
+		}
+		return result;
+	}
+
+	public BitSet rooms(Collection<String> roomIds) {
+		final BitSet result = new BitSet(slots.size());
+		for (String roomId : roomIds) {
+			orBucket(result, byRoom.get(roomId));
+		}
+		return result;
+	}
+
+	public BitSet slots(Collection<String> slotIds) {
+		final BitSet result = new BitSet(slots.size());
+		for (String slotId : slotIds) {
+			final Integer ordinal = ordinalsBySlotId.get(slotId);
+			if (ordinal != null) {
+				result.set(ordinal);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sets or clears the bit of a single slot, unknown slots are ignored.
+	 */
+	public void mark(BitSet selection, String slotId, boolean value) {
+		final Integer ordinal = ordinalsBySlotId.get(slotId);
+		if (ordinal != null) {
+			selection.set(ordinal, value);
+		}
+	}
+
+	public Predicate<SlotApiModel> asPredicate(BitSet selection) {
+		return value -> {
+			final Integer ordinal = ordinalsBySlotId.get(value.slotId);
+			return ordinal != null && selection.get(ordinal);
+		};
+	}
+
+	private static <K> BitSet bucket(Map<K, BitSet> buckets, K key) {
+		BitSet result = buckets.get(key);
+		if (result == null) {
+			result = new BitSet();
+			buckets.put(key, result);
+		}
+		return result;
+	}
+
+	private static void orBucket(BitSet result, BitSet bucket) {
+		if (bucket != null) {
+			result.or(bucket);
+		}
+	}
+
+	private static String normalizeKey(String key) {
+		return key != null ? key.toLowerCase(Locale.US) : "";
+	}
+}
@@ -1,288 +1,401 @@
 package com.devoxx.data.schedule.filter;
 
-import com.annimon.stream.Collectors;
-import com.annimon.stream.Stream;
-import com.devoxx.android.adapter.schedule.model.ScheduleItem;
-import com.devoxx.android.adapter.schedule.model.TalksScheduleItem;
-import com.devoxx.android.adapter.schedule.model.creator.ScheduleLineupDataCreator;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.cache.TracksMetadataCache;
 import com.devoxx.data.conference.model.ConferenceDay;
-import com.devoxx.data.model.RealmTrack;
+import com.devoxx.data.manager.SlotsDataManager;
 import com.devoxx.data.schedule.filter.model.RealmScheduleCustomFilter;
 import com.devoxx.data.schedule.filter.model.RealmScheduleDayItemFilter;
 import com.devoxx.data.schedule.filter.model.RealmScheduleTrackItemFilter;
 import com.devoxx.data.user.UserFavouritedTalksManager;
 
+import org.androidannotations.annotations.AfterInject;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.realm.Realm;
 import io.realm.RealmObject;
 
-@EBean
-public class ScheduleFilterManager {
+/**
+ * Filters are kept in memory as immutable {@link ScheduleFilters}, loaded once from Realm.
+ * Every change is written to Realm first, then the new state is published to listeners.
+ */
+@EBean(scope = EBean.Scope.Singleton)
+public class ScheduleFilterManager implements UserFavouritedTalksManager.FavouritesListener {
 
 	public static final String FILTERS_CHANGED_ACTION = "filters_changed_action";
 
+	public static final int FILTER_TRACKS = 1;
+	public static final int FILTER_DAYS = 1 << 1;
+	public static final int FILTER_FAVOURITES = 1 << 2;
 	/**
-	 * Column isActive in {@link RealmScheduleDayItemFilter} and
-	 * {@link RealmScheduleTrackItemFilter}
+	 * Like {@link #FILTER_TRACKS}, but a talk also matches by its track name.
 	 */
-	private static final String IS_ACTIVE_COLUMN_NAME = "isActive";
+	public static final int FILTER_TRACKS_BY_NAME = 1 << 3;
 
-	@Bean
-	ScheduleLineupDataCreator scheduleLineupDataCreator;
+	private static final String STARRED_FILTER_KEY = "starred";
+	private static final String STARRED_FILTER_LABEL = "Favourited talks";
+
+	public interface FiltersListener {
+		/**
+		 * Called on the thread which changed filters.
+		 */
+		void onFiltersChanged(ScheduleFilters filters);
+	}
 
 	@Bean
 	RealmProvider realmProvider;
 
+	@Bean
+	SlotsDataManager slotsDataManager;
+
 	@Bean
 	UserFavouritedTalksManager userFavouritedTalksManager;
 
+	private final List<FiltersListener> listeners = new CopyOnWriteArrayList<>();
+	private ScheduleFilters filters;
+
+	/**
+	 * Favourited talks of {@link #favouritesEngine}, kept up to date by favourite toggles.
+	 */
+	private final Object favouritesLock = new Object();
+	private ScheduleFilterEngine favouritesEngine;
+	private BitSet favouritesMask;
+
+	@AfterInject void afterInject() {
+		userFavouritedTalksManager.addListener(this);
+	}
+
+	public ScheduleFilters getFilters() {
+		synchronized (this) {
+			if (filters == null) {
+				filters = loadFilters();
+			}
+			return filters;
+		}
+	}
+
 	public List<RealmScheduleCustomFilter> getActiveCustomFilters() {
-		return getFilters(RealmScheduleCustomFilter.class, true);
+		return getFilters().getActiveCustomFilters();
 	}
 
 	public List<RealmScheduleDayItemFilter> getActiveDayFilters() {
-		return getFilters(RealmScheduleDayItemFilter.class, true);
+		return getFilters().getActiveDayFilters();
 	}
 
 	public List<RealmScheduleTrackItemFilter> getActiveTrackFilters() {
-		return getFilters(RealmScheduleTrackItemFilter.class, true);
+		return getFilters().getActiveTrackFilters();
 	}
 
-	private List getFilters(Class<? extends RealmObject> clazz, boolean isActive) {
-		final Realm realm = realmProvider.getRealm();
-		return realm.where(clazz).equalTo(IS_ACTIVE_COLUMN_NAME, isActive).findAll();
+	public List<RealmScheduleTrackItemFilter> getTrackFilters() {
+		return getFilters().getTrackFilters();
+	}
+
+	public List<RealmScheduleDayItemFilter> getDayFilters() {
+		return getFilters().getDayFilters();
+	}
+
+	public List<RealmScheduleCustomFilter> getCustomFilters() {
+		return getFilters().getCustomFilters();
+	}
+
+	public boolean isSomeFiltersActive() {
+		return getFilters().isSomeFiltersActive();
+	}
+
+	public int activeFiltersCount() {
+		return getFilters().activeFiltersCount();
+	}
+
+	public void addListener(FiltersListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(FiltersListener listener) {
+		listeners.remove(listener);
 	}
 
 	public void removeAllFilters() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmScheduleDayItemFilter.class).clear();
-		realm.allObjects(RealmScheduleTrackItemFilter.class).clear();
-		realm.allObjects(RealmScheduleCustomFilter.class).clear();
-		realm.commitTransaction();
-		realm.close();
+		final ScheduleFilters result;
+		synchronized (this) {
+			realmProvider.write(realm -> {
+				realm.allObjects(RealmScheduleDayItemFilter.class).clear();
+				realm.allObjects(RealmScheduleTrackItemFilter.class).clear();
+				realm.allObjects(RealmScheduleCustomFilter.class).clear();
+			});
+
+			result = publish(getFilters().with(
+					new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+		}
+		notifyListeners(result);
 	}
 
 	public void createDayFiltersDefinition(List<ConferenceDay> conferenceDays) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmScheduleDayItemFilter.class).clear();
-		realm.commitTransaction();
-
+		final List<RealmScheduleDayItemFilter> items = new ArrayList<>(conferenceDays.size());
 		for (ConferenceDay conferenceDay : conferenceDays) {
-			realm.beginTransaction();
 			final RealmScheduleDayItemFilter item = new RealmScheduleDayItemFilter();
 			item.setActive(true);
 			item.setDayMs(conferenceDay.getDayMs());
 			item.setLabel(conferenceDay.getName());
-			realm.copyToRealmOrUpdate(item);
-			realm.commitTransaction();
+			items.add(item);
 		}
 
-		realm.close();
-	}
+		final ScheduleFilters result;
+		synchronized (this) {
+			realmProvider.write(realm -> {
+				realm.allObjects(RealmScheduleDayItemFilter.class).clear();
+				realm.copyToRealmOrUpdate(items);
+			});
 
-	public void createTrackFiltersDefinition(List<RealmTrack> tracks) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.allObjects(RealmScheduleTrackItemFilter.class).clear();
-		realm.commitTransaction();
+			result = publish(getFilters().withDayFilters(items));
+		}
+		notifyListeners(result);
+	}
 
-		realm.beginTransaction();
-		for (RealmTrack track : tracks) {
+	public void createTrackFiltersDefinition(List<TracksMetadataCache.TrackMetadata> tracks) {
+		final List<RealmScheduleTrackItemFilter> items = new ArrayList<>(tracks.size());
+		for (TracksMetadataCache.TrackMetadata track : tracks) {
 			final RealmScheduleTrackItemFilter newItem = new RealmScheduleTrackItemFilter();
 			newItem.setActive(true);
-			newItem.setTrackName(track.getTitle());
-			newItem.setTrackId(track.getId());
-			realm.copyToRealmOrUpdate(newItem);
+			newItem.setTrackName(track.title);
+			newItem.setTrackId(track.id);
+			items.add(newItem);
 		}
-		realm.commitTransaction();
 
-		realm.close();
+		final ScheduleFilters result;
+		synchronized (this) {
+			realmProvider.write(realm -> {
+				realm.allObjects(RealmScheduleTrackItemFilter.class).clear();
+				realm.copyToRealmOrUpdate(items);
+			});
+
+			result = publish(getFilters().withTrackFilters(items));
+		}
+		notifyListeners(result);
 	}
 
 	public void createCustomFiltersDefinitionIfNeeded() {
-		if (getCustomFilters().isEmpty()) {
-			final Realm realm = realmProvider.getRealm();
-			realm.beginTransaction();
+		final ScheduleFilters result;
+		synchronized (this) {
+			if (!getFilters().getCustomFilters().isEmpty()) {
+				return;
+			}
 
 			final RealmScheduleCustomFilter newItem = new RealmScheduleCustomFilter();
 			newItem.setActive(false);
-			newItem.setKey("starred");
-			newItem.setLabel("Favourited talks");
-			realm.copyToRealmOrUpdate(newItem);
+			newItem.setKey(STARRED_FILTER_KEY);
+			newItem.setLabel(STARRED_FILTER_LABEL);
 
-			realm.commitTransaction();
+			realmProvider.write(realm -> realm.copyToRealmOrUpdate(newItem));
 
-			realm.close();
+			final List<RealmScheduleCustomFilter> items = new ArrayList<>(1);
+			items.add(newItem);
+			result = publish(getFilters().withCustomFilters(items));
 		}
-	}
-
-	public List<RealmScheduleTrackItemFilter> getTrackFilters() {
-		final Realm realm = realmProvider.getRealm();
-		final List<RealmScheduleTrackItemFilter> result
-				= realm.allObjects(RealmScheduleTrackItemFilter.class);
-		realm.close();
-		return result;
-	}
-
-	public List<RealmScheduleDayItemFilter> getDayFilters() {
-		final Realm realm = realmProvider.getRealm();
-		final List<RealmScheduleDayItemFilter> result
-				= realm.allObjects(RealmScheduleDayItemFilter.class);
-		realm.close();
-		return result;
-	}
-
-	public List<RealmScheduleCustomFilter> getCustomFilters() {
-		final Realm realm = realmProvider.getRealm();
-		final List<RealmScheduleCustomFilter> result
-				= realm.allObjects(RealmScheduleCustomFilter.class);
-		realm.close();
-		return result;
+		notifyListeners(result);
 	}
 
 	public void updateFilter(RealmScheduleDayItemFilter itemFilter, boolean isActive) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		itemFilter.setActive(isActive);
-		realm.copyToRealmOrUpdate(itemFilter);
-		realm.commitTransaction();
-		realm.close();
+		final ScheduleFilters result;
+		synchronized (this) {
+			final List<RealmScheduleDayItemFilter> items = new ArrayList<>(getFilters().getDayFilters());
+			final RealmScheduleDayItemFilter updated = ScheduleFilters.copy(itemFilter, isActive);
+			for (int i = 0; i < items.size(); i++) {
+				if (items.get(i).getLabel().equals(updated.getLabel())) {
+					items.set(i, updated);
+				}
+			}
+			persist(updated);
+			result = publish(getFilters().withDayFilters(items));
+		}
+		notifyListeners(result);
 	}
 
 	public void updateFilter(RealmScheduleTrackItemFilter itemFilter, boolean isActive) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		itemFilter.setActive(isActive);
-		realm.copyToRealmOrUpdate(itemFilter);
-		realm.commitTransaction();
-		realm.close();
+		final ScheduleFilters result;
+		synchronized (this) {
+			final List<RealmScheduleTrackItemFilter> items = new ArrayList<>(getFilters().getTrackFilters());
+			final RealmScheduleTrackItemFilter updated = ScheduleFilters.copy(itemFilter, isActive);
+			for (int i = 0; i < items.size(); i++) {
+				if (items.get(i).getTrackName().equals(updated.getTrackName())) {
+					items.set(i, updated);
+				}
+			}
+			persist(updated);
+			result = publish(getFilters().withTrackFilters(items));
+		}
+		notifyListeners(result);
 	}
 
 	public void updateFilter(RealmScheduleCustomFilter itemFilter, boolean isActive) {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		itemFilter.setActive(isActive);
-		realm.copyToRealmOrUpdate(itemFilter);
-		realm.commitTransaction();
-		realm.close();
+		final ScheduleFilters result;
+		synchronized (this) {
+			final List<RealmScheduleCustomFilter> items = new ArrayList<>(getFilters().getCustomFilters());
+			final RealmScheduleCustomFilter updated = ScheduleFilters.copy(itemFilter, isActive);
+			for (int i = 0; i < items.size(); i++) {
+				if (items.get(i).getKey().equals(updated.getKey())) {
+					items.set(i, updated);
+				}
+			}
+			persist(updated);
+			result = publish(getFilters().withCustomFilters(items));
+		}
+		notifyListeners(result);
 	}
 
 	public void clearFilters() {
-		final Realm realm = realmProvider.getRealm();
-
-		setAllFiltersEnabled(false, realm);
-
-		defaultCustomFilters(realm);
-
-		realm.close();
+		setAllFiltersEnabled(false);
 	}
 
 	public void defaultFilters() {
-		final Realm realm = realmProvider.getRealm();
-		setAllFiltersEnabled(true, realm);
-
-		defaultCustomFilters(realm);
-
-		realm.close();
+		setAllFiltersEnabled(true);
 	}
 
-	private void defaultCustomFilters(Realm realm) {
-		final List<RealmScheduleCustomFilter> customs =
-				realm.allObjects(RealmScheduleCustomFilter.class);
-
-		realm.beginTransaction();
-		for (int i = 0; i < customs.size(); i++) {
-			customs.get(i).setActive(false);
+	/**
+	 * @param filters {@link #FILTER_TRACKS}, {@link #FILTER_TRACKS_BY_NAME}, {@link #FILTER_DAYS}
+	 *                and {@link #FILTER_FAVOURITES} flags of filters the screen supports
+	 * @return mask of slots accepted by active filters, null when nothing is filtered out
+	 */
+	@Nullable
+	public Predicate<SlotApiModel> createFilterMask(int filters) {
+		final ScheduleFilters current = getFilters();
+		final ScheduleFilterEngine engine = slotsDataManager.getFilterEngine();
+		BitSet selection = null;
+
+		if ((filters & FILTER_FAVOURITES) != 0 && !current.getActiveCustomFilters().isEmpty()) {
+			// Only custom filter is "starred", it replaces track filters.
+			selection = getFavouritesMask(engine);
+		} else if ((filters & (FILTER_TRACKS | FILTER_TRACKS_BY_NAME)) != 0) {
+			final List<RealmScheduleTrackItemFilter> activeTracks = current.getActiveTrackFilters();
+			if (activeTracks.size() != current.getTrackFilters().size()) {
+				final boolean byName = (filters & FILTER_TRACKS_BY_NAME) != 0;
+				final List<String> trackKeys = new ArrayList<>(activeTracks.size() * 2);
+				for (RealmScheduleTrackItemFilter filter : activeTracks) {
+					trackKeys.add(filter.getTrackId());
+					if (byName) {
+						trackKeys.add(filter.getTrackName());
+					}
+				}
+				selection = byName ? engine.tracksByIdOrName(trackKeys) : engine.tracks(trackKeys);
+			}
 		}
-		realm.commitTransaction();
-	}
-
-	public List<ScheduleItem> applyListFilter(List<ScheduleItem> items) {
-		final List<RealmScheduleTrackItemFilter> activeFilters = getActiveTrackFilters();
-		final List<RealmScheduleCustomFilter> activeCustomFilters = getActiveCustomFilters();
-		final List<RealmScheduleTrackItemFilter> allTrackFilters = getTrackFilters();
-
-		final boolean isCustomFilterActive = !activeCustomFilters.isEmpty();
-
-		List<ScheduleItem> result = items;
 
-		if (activeFilters.size() != allTrackFilters.size() || isCustomFilterActive) {
-
-			final List<SlotApiModel> filteredModels = Stream.of(items)
-					.filter(value -> value instanceof TalksScheduleItem)
-					.flatMap(value -> Stream.of(value.getAllItems()))
-					.filter(value -> {
-
-						if (value.isTalk()) {
-
-							if (isCustomFilterActive) {
-								for (RealmScheduleCustomFilter filter : activeCustomFilters) {
-
-									final boolean properTrack = filter.isActive() &&
-											userFavouritedTalksManager.isFavouriteTalk(value.slotId);
-
-									if (properTrack) {
-										return true;
-									}
-								}
-							} else {
-								for (RealmScheduleTrackItemFilter filter : activeFilters) {
-									final String track = filter.getTrackId().toLowerCase();
+		if ((filters & FILTER_DAYS) != 0) {
+			final List<RealmScheduleDayItemFilter> activeDays = current.getActiveDayFilters();
+			if (activeDays.size() != current.getDayFilters().size()) {
+				final List<Long> daysMs = new ArrayList<>(activeDays.size());
+				for (RealmScheduleDayItemFilter filter : activeDays) {
+					daysMs.add(filter.getDayMs());
+				}
+				final BitSet days = engine.days(daysMs);
+				if (selection == null) {
+					selection = days;
+				} else {
+					selection.and(days);
+				}
+			}
+		}
 
-									final boolean properTrack = value.talk != null
-											&& value.talk.trackId.equalsIgnoreCase(track);
+		return selection != null ? engine.asPredicate(selection) : null;
+	}
 
-									if (properTrack) {
-										return true;
-									}
-								}
-							}
+	@Override
+	public void onFavouriteChanged(String talkId, boolean isFavourite) {
+		synchronized (favouritesLock) {
+			if (favouritesMask != null) {
+				// Only talks can be favourited, so the mask stays a subset of talks.
+				favouritesEngine.mark(favouritesMask, talkId, isFavourite);
+			}
+		}
+	}
 
-						}
-						return false;
-					})
-					.collect(Collectors.toList());
+	/**
+	 * Built once per engine, callers get a copy they may change.
+	 */
+	private BitSet getFavouritesMask(ScheduleFilterEngine engine) {
+		synchronized (favouritesLock) {
+			if (favouritesEngine != engine) {
+				favouritesEngine = engine;
+				favouritesMask = engine.talks();
+				favouritesMask.and(engine.slots(userFavouritedTalksManager.getFavouriteTalkIds()));
+			}
+			return (BitSet) favouritesMask.clone();
+		}
+	}
 
-			result = scheduleLineupDataCreator.prepareResult(filteredModels);
+	/**
+	 * Custom filters are always disabled, they are opt-in.
+	 */
+	private void setAllFiltersEnabled(boolean enabled) {
+		final ScheduleFilters result;
+		synchronized (this) {
+			final ScheduleFilters current = getFilters();
+
+			final List<RealmScheduleDayItemFilter> days = new ArrayList<>();
+			for (RealmScheduleDayItemFilter filter : current.getDayFilters()) {
+				days.add(ScheduleFilters.copy(filter, enabled));
+			}
+			final List<RealmScheduleTrackItemFilter> tracks = new ArrayList<>();
+			for (RealmScheduleTrackItemFilter filter : current.getTrackFilters()) {
+				tracks.add(ScheduleFilters.copy(filter, enabled));
+			}
+			final List<RealmScheduleCustomFilter> customs = new ArrayList<>();
+			for (RealmScheduleCustomFilter filter : current.getCustomFilters()) {
+				customs.add(ScheduleFilters.copy(filter, false));
+			}
+
+			realmProvider.write(realm -> {
+				realm.copyToRealmOrUpdate(days);
+				realm.copyToRealmOrUpdate(tracks);
+				realm.copyToRealmOrUpdate(customs);
+			});
+
+			result = publish(current.with(days, tracks, customs));
 		}
-		return result;
+		notifyListeners(result);
+	}
+
+	private void persist(RealmObject item) {
+		realmProvider.write(realm -> realm.copyToRealmOrUpdate(item));
 	}
 
-	private void setAllFiltersEnabled(boolean enabled, Realm realm) {
-		final List<RealmScheduleDayItemFilter> days =
-				realm.allObjects(RealmScheduleDayItemFilter.class);
-		final List<RealmScheduleTrackItemFilter> tracks =
-				realm.allObjects(RealmScheduleTrackItemFilter.class);
+	private ScheduleFilters publish(ScheduleFilters newFilters) {
+		filters = newFilters;
+		return newFilters;
+	}
 
-		realm.beginTransaction();
+	private ScheduleFilters loadFilters() {
+		final Realm realm = realmProvider.getRealm();
 
-		for (int i = 0; i < days.size(); i++) {
-			days.get(i).setActive(enabled);
+		final List<RealmScheduleDayItemFilter> days = new ArrayList<>();
+		for (RealmScheduleDayItemFilter filter : realm.allObjects(RealmScheduleDayItemFilter.class)) {
+			days.add(ScheduleFilters.copy(filter, filter.isActive()));
 		}
-		for (int i = 0; i < tracks.size(); i++) {
-			tracks.get(i).setActive(enabled);
+		final List<RealmScheduleTrackItemFilter> tracks = new ArrayList<>();
+		for (RealmScheduleTrackItemFilter filter : realm.allObjects(RealmScheduleTrackItemFilter.class)) {
+			tracks.add(ScheduleFilters.copy(filter, filter.isActive()));
+		}
+		final List<RealmScheduleCustomFilter> customs = new ArrayList<>();
+		for (RealmScheduleCustomFilter filter : realm.allObjects(RealmScheduleCustomFilter.class)) {
+			customs.add(ScheduleFilters.copy(filter, filter.isActive()));
 		}
 
-		realm.commitTransaction();
-	}
-
-	public boolean isSomeFiltersActive() {
-		return !getFilters(RealmScheduleDayItemFilter.class, false).isEmpty()
-				|| !getFilters(RealmScheduleTrackItemFilter.class, false).isEmpty()
-				|| getFilters(RealmScheduleCustomFilter.class, false).isEmpty();
+		realmProvider.release(realm);
+		return ScheduleFilters.EMPTY.with(days, tracks, customs);
 	}
 
-	public int activeFiltersCount() {
-		return getFilters(RealmScheduleDayItemFilter.class, false).size()
-				+ getFilters(RealmScheduleTrackItemFilter.class, false).size()
-				+ getFilters(RealmScheduleCustomFilter.class, true).size();
+	private void notifyListeners(ScheduleFilters newFilters) {
+		for (FiltersListener listener : listeners) {
+			listener.onFiltersChanged(newFilters);
+		}
 	}
 }
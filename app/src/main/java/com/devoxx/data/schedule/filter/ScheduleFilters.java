@@ -0,0 +1,143 @@
+package com.devoxx.data.schedule.filter;
+
+import com.devoxx.data.schedule.filter.model.RealmScheduleCustomFilter;
+import com.devoxx.data.schedule.filter.model.RealmScheduleDayItemFilter;
+import com.devoxx.data.schedule.filter.model.RealmScheduleTrackItemFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable state of all filters. Items are detached copies of Realm objects,
+ * changes go through {@link ScheduleFilterManager} which publishes a new state.
+ */
+public final class ScheduleFilters {
+
+	static final ScheduleFilters EMPTY = new ScheduleFilters(0,
+			Collections.<RealmScheduleDayItemFilter>emptyList(),
+			Collections.<RealmScheduleTrackItemFilter>emptyList(),
+			Collections.<RealmScheduleCustomFilter>emptyList());
+
+	private final long version;
+	private final List<RealmScheduleDayItemFilter> dayFilters;
+	private final List<RealmScheduleTrackItemFilter> trackFilters;
+	private final List<RealmScheduleCustomFilter> customFilters;
+	private final List<RealmScheduleDayItemFilter> activeDayFilters;
+	private final List<RealmScheduleTrackItemFilter> activeTrackFilters;
+	private final List<RealmScheduleCustomFilter> activeCustomFilters;
+
+	ScheduleFilters(long version,
+					List<RealmScheduleDayItemFilter> dayFilters,
+					List<RealmScheduleTrackItemFilter> trackFilters,
+					List<RealmScheduleCustomFilter> customFilters) {
+		this.version = version;
+		this.dayFilters = Collections.unmodifiableList(new ArrayList<>(dayFilters));
+		this.trackFilters = Collections.unmodifiableList(new ArrayList<>(trackFilters));
+		this.customFilters = Collections.unmodifiableList(new ArrayList<>(customFilters));
+
+		final List<RealmScheduleDayItemFilter> activeDays = new ArrayList<>();
+		for (RealmScheduleDayItemFilter filter : dayFilters) {
+			if (filter.isActive()) {
+				activeDays.add(filter);
+			}
+		}
+		final List<RealmScheduleTrackItemFilter> activeTracks = new ArrayList<>();
+		for (RealmScheduleTrackItemFilter filter : trackFilters) {
+			if (filter.isActive()) {
+				activeTracks.add(filter);
+			}
+		}
+		final List<RealmScheduleCustomFilter> activeCustoms = new ArrayList<>();
+		for (RealmScheduleCustomFilter filter : customFilters) {
+			if (filter.isActive()) {
+				activeCustoms.add(filter);
+			}
+		}
+		activeDayFilters = Collections.unmodifiableList(activeDays);
+		activeTrackFilters = Collections.unmodifiableList(activeTracks);
+		activeCustomFilters = Collections.unmodifiableList(activeCustoms);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public List<RealmScheduleDayItemFilter> getDayFilters() {
+		return dayFilters;
+	}
+
+	public List<RealmScheduleTrackItemFilter> getTrackFilters() {
+		return trackFilters;
+	}
+
+	public List<RealmScheduleCustomFilter> getCustomFilters() {
+		return customFilters;
+	}
+
+	public List<RealmScheduleDayItemFilter> getActiveDayFilters() {
+		return activeDayFilters;
+	}
+
+	public List<RealmScheduleTrackItemFilter> getActiveTrackFilters() {
+		return activeTrackFilters;
+	}
+
+	public List<RealmScheduleCustomFilter> getActiveCustomFilters() {
+		return activeCustomFilters;
+	}
+
+	public boolean isSomeFiltersActive() {
+		return activeDayFilters.size() != dayFilters.size()
+				|| activeTrackFilters.size() != trackFilters.size()
+				|| activeCustomFilters.size() == customFilters.size();
+	}
+
+	public int activeFiltersCount() {
+		return dayFilters.size() - activeDayFilters.size()
+				+ trackFilters.size() - activeTrackFilters.size()
+				+ activeCustomFilters.size();
+	}
+
+	ScheduleFilters withDayFilters(List<RealmScheduleDayItemFilter> filters) {
+		return new ScheduleFilters(version + 1, filters, trackFilters, customFilters);
+	}
+
+	ScheduleFilters withTrackFilters(List<RealmScheduleTrackItemFilter> filters) {
+		return new ScheduleFilters(version + 1, dayFilters, filters, customFilters);
+	}
+
+	ScheduleFilters withCustomFilters(List<RealmScheduleCustomFilter> filters) {
+		return new ScheduleFilters(version + 1, dayFilters, trackFilters, filters);
+	}
+
+	ScheduleFilters with(List<RealmScheduleDayItemFilter> days,
+						 List<RealmScheduleTrackItemFilter> tracks,
+						 List<RealmScheduleCustomFilter> customs) {
+		return new ScheduleFilters(version + 1, days, tracks, customs);
+	}
+
+	static RealmScheduleDayItemFilter copy(RealmScheduleDayItemFilter source, boolean isActive) {
+		final RealmScheduleDayItemFilter result = new RealmScheduleDayItemFilter();
+		result.setLabel(source.getLabel());
+		result.setDayMs(source.getDayMs());
+		result.setActive(isActive);
+		return result;
+	}
+
+	static RealmScheduleTrackItemFilter copy(RealmScheduleTrackItemFilter source, boolean isActive) {
+		final RealmScheduleTrackItemFilter result = new RealmScheduleTrackItemFilter();
+		result.setTrackName(source.getTrackName());
+		result.setTrackId(source.getTrackId());
+		result.setActive(isActive);
+		return result;
+	}
+
+	static RealmScheduleCustomFilter copy(RealmScheduleCustomFilter source, boolean isActive) {
+		final RealmScheduleCustomFilter result = new RealmScheduleCustomFilter();
+		result.setKey(source.getKey());
+		result.setLabel(source.getLabel());
+		result.setActive(isActive);
+		return result;
+	}
+}
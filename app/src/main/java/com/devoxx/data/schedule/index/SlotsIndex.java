@@ -0,0 +1,139 @@
+package com.devoxx.data.schedule.index;
+
+import com.devoxx.connection.model.SlotApiModel;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable lookup structure over all slots of the active conference.
+ * Built once per schedule version, so reads never scan the whole schedule.
+ */
+public final class SlotsIndex {
+
+	private final long version;
+	private final DateTimeZone zone;
+
+	private final List<SlotApiModel> allSlots;
+	private final List<SlotApiModel> talks;
+
+	private final Map<String, SlotApiModel> bySlotId;
+	private final Map<String, SlotApiModel> byTalkId;
+	private final Map<Long, List<SlotApiModel>> byDay;
+	private final Map<String, List<SlotApiModel>> talksByTrack;
+	private final Map<String, List<SlotApiModel>> byRoom;
+
+	public static SlotsIndex create(long version, Collection<SlotApiModel> slots) {
+		return new SlotsIndex(version, slots, DateTimeZone.getDefault());
+	}
+
+	private SlotsIndex(long version, Collection<SlotApiModel> slots, DateTimeZone zone) {
+		this.version = version;
+		this.zone = zone;
+
+		final List<SlotApiModel> distinctSlots = new ArrayList<>(new LinkedHashSet<>(slots));
+		Collections.sort(distinctSlots);
+
+		final int size = distinctSlots.size();
+		final List<SlotApiModel> talksList = new ArrayList<>(size);
+		bySlotId = new HashMap<>(size);
+		byTalkId = new HashMap<>(size);
+		byDay = new HashMap<>();
+		talksByTrack = new HashMap<>();
+		byRoom = new HashMap<>();
+
+		final DateTime tmpDate = new DateTime(0, zone);
+		for (SlotApiModel slot : distinctSlots) {
+			bySlotId.put(slot.slotId, slot);
+			putToBucket(byRoom, slot.roomId, slot);
+
+			if (slot.notAllocated) {
+				continue;
+			}
+
+			final long dayMs = tmpDate.withMillis(slot.fromTimeMs()).withTimeAtStartOfDay().getMillis();
+			putToBucket(byDay, dayMs, slot);
+
+			if (slot.isTalk()) {
+				talksList.add(slot);
+				byTalkId.put(slot.talk.id, slot);
+				putToBucket(talksByTrack, normalizeKey(slot.talk.trackId), slot);
+			}
+		}
+
+		allSlots = Collections.unmodifiableList(distinctSlots);
+		talks = Collections.unmodifiableList(talksList);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Day buckets depend on the default time zone, which can change
+	 * once the active conference is set up.
+	 */
+	public boolean isValidFor(DateTimeZone currentZone) {
+		return zone.equals(currentZone);
+	}
+
+	public List<SlotApiModel> getAllSlots() {
+		return allSlots;
+	}
+
+	public List<SlotApiModel> getTalks() {
+		return talks;
+	}
+
+	public boolean hasTalks() {
+		return !talks.isEmpty();
+	}
+
+	public SlotApiModel getBySlotId(String slotId) {
+		return bySlotId.get(slotId);
+	}
+
+	public SlotApiModel getByTalkId(String talkId) {
+		return byTalkId.get(talkId);
+	}
+
+	public List<SlotApiModel> getSlotsForDay(long timeMs) {
+		final long dayMs = new DateTime(timeMs, zone).withTimeAtStartOfDay().getMillis();
+		return unmodifiableBucket(byDay.get(dayMs));
+	}
+
+	public List<SlotApiModel> getTalksForTrack(String trackId) {
+		return unmodifiableBucket(talksByTrack.get(normalizeKey(trackId)));
+	}
+
+	public List<SlotApiModel> getSlotsForRoom(String roomId) {
+		return unmodifiableBucket(byRoom.get(roomId));
+	}
+
+	private static <K> void putToBucket(Map<K, List<SlotApiModel>> buckets, K key, SlotApiModel slot) {
+		List<SlotApiModel> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<>();
+			buckets.put(key, bucket);
+		}
+		bucket.add(slot);
+	}
+
+	private static List<SlotApiModel> unmodifiableBucket(List<SlotApiModel> bucket) {
+		return bucket != null ? Collections.unmodifiableList(bucket)
+				: Collections.<SlotApiModel>emptyList();
+	}
+
+	private static String normalizeKey(String key) {
+		return key != null ? key.toLowerCase(Locale.US) : "";
+	}
+}
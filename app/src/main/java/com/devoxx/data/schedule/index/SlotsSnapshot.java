@@ -0,0 +1,62 @@
+package com.devoxx.data.schedule.index;
+
+import com.devoxx.connection.model.SlotApiModel;
+
+import android.support.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned state of the stored schedule, published as a whole. The index is null
+ * until the whole schedule is needed, single days are read from Realm before that.
+ */
+public final class SlotsSnapshot {
+
+	private final long version;
+	@Nullable private final SlotsIndex index;
+	private final Map<Long, List<SlotApiModel>> daySlots = new ConcurrentHashMap<>();
+
+	private SlotsSnapshot(long version, @Nullable SlotsIndex index) {
+		this.version = version;
+		this.index = index;
+	}
+
+	public static SlotsSnapshot notLoaded(long version) {
+		return new SlotsSnapshot(version, null);
+	}
+
+	/**
+	 * Builds the index, call it off the UI thread.
+	 */
+	public static SlotsSnapshot create(long version, Collection<SlotApiModel> slots) {
+		return new SlotsSnapshot(version, SlotsIndex.create(version, slots));
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isLoaded() {
+		return index != null;
+	}
+
+	@Nullable
+	public SlotsIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Slots of a day read from Realm while the index is not loaded, kept for this version only.
+	 */
+	@Nullable
+	public List<SlotApiModel> getCachedDaySlots(long dayMs) {
+		return daySlots.get(dayMs);
+	}
+
+	public void cacheDaySlots(long dayMs, List<SlotApiModel> slots) {
+		daySlots.put(dayMs, slots);
+	}
+}
@@ -1,9 +1,6 @@
 package com.devoxx.data.schedule.search;
 
-import com.annimon.stream.Collectors;
-import com.annimon.stream.Stream;
-import com.devoxx.android.adapter.schedule.model.ScheduleItem;
-import com.devoxx.android.adapter.schedule.model.creator.ScheduleLineupDataCreator;
+import com.annimon.stream.function.Predicate;
 import com.devoxx.connection.model.SlotApiModel;
 import com.devoxx.data.manager.SlotsDataManager;
 
@@ -11,8 +8,6 @@ import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.sharedpreferences.Pref;
 
-import android.support.annotation.NonNull;
-
 import java.util.List;
 
 @EBean
@@ -23,22 +18,18 @@ public class SearchManager {
 	@Bean
 	SlotsDataManager slotsDataManager;
 
-	@Bean
-	ScheduleLineupDataCreator scheduleLineupDataCreator;
-
 	@Pref
 	ScheduleSearchStore_ scheduleSearchStore;
 
-	@NonNull
-	public List<ScheduleItem> handleSearchQuery(long lineupDayMs, final String query) {
-		final String lastQuery = formatQuery(query);
-		final SlotApiModel.FilterPredicate fp = new SlotApiModel.FilterPredicate(lastQuery);
+	public Predicate<SlotApiModel> createSearchMask(String query) {
+		return slotsDataManager.getTalkSearchIndex().createMask(query);
+	}
 
-		final List<SlotApiModel> slotsRaw = slotsDataManager.getSlotsForDay(lineupDayMs);
-		final List<SlotApiModel> queriedRaw = Stream.of(slotsRaw)
-				.filter(fp)
-				.collect(Collectors.<SlotApiModel>toList());
-		return scheduleLineupDataCreator.prepareResult(queriedRaw);
+	/**
+	 * @return talks matching the query, best matches first
+	 */
+	public List<SlotApiModel> searchTalks(String query) {
+		return slotsDataManager.getTalkSearchIndex().search(query);
 	}
 
 	public String getLastQuery() {
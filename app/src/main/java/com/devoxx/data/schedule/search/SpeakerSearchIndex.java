@@ -0,0 +1,246 @@
+package com.devoxx.data.schedule.search;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Speakers sorted and grouped by first letter once, plus a sorted words array over
+ * names, company and talk titles. Search selects speakers of the prepared sections,
+ * query words match word prefixes and, when nothing starts with them, words with a typo.
+ */
+public final class SpeakerSearchIndex {
+
+	private static final String UNKNOWN_LETTER = "#";
+
+	public static final class Speaker {
+		public final String uuid;
+		public final String firstName;
+		public final String lastName;
+		public final String avatarURL;
+		final String letter;
+
+		public Speaker(String uuid, String firstName, String lastName, String avatarURL) {
+			this.uuid = uuid;
+			this.firstName = firstName != null ? firstName : "";
+			this.lastName = lastName != null ? lastName : "";
+			this.avatarURL = avatarURL;
+
+			final String[] nameWords = TalkSearchIndex.tokenize(this.firstName);
+			letter = nameWords.length > 0 ? nameWords[0].substring(0, 1) : UNKNOWN_LETTER;
+		}
+	}
+
+	public static final class Section {
+		public final String letter;
+		public final List<Speaker> speakers;
+
+		Section(String letter, List<Speaker> speakers) {
+			this.letter = letter;
+			this.speakers = Collections.unmodifiableList(speakers);
+		}
+	}
+
+	private final List<Section> sections;
+	private final Speaker[] speakers;
+	private final String[] words;
+	private final int[][] speakersByWord;
+
+	/**
+	 * @param companies  company by speaker uuid, known only for speakers with details downloaded
+	 * @param talkTitles titles of speaker talks by speaker uuid
+	 */
+	public static SpeakerSearchIndex create(Collection<Speaker> speakers,
+											Map<String, String> companies,
+											Map<String, List<String>> talkTitles) {
+		return new SpeakerSearchIndex(speakers, companies, talkTitles);
+	}
+
+	private SpeakerSearchIndex(Collection<Speaker> allSpeakers,
+							   Map<String, String> companies,
+							   Map<String, List<String>> talkTitles) {
+		final Collator collator = Collator.getInstance();
+		collator.setStrength(Collator.PRIMARY);
+
+		final List<Speaker> sorted = new ArrayList<>(allSpeakers);
+		Collections.sort(sorted, (lhs, rhs) -> {
+			final int result = collator.compare(lhs.firstName, rhs.firstName);
+			return result != 0 ? result : collator.compare(lhs.lastName, rhs.lastName);
+		});
+		speakers = sorted.toArray(new Speaker[sorted.size()]);
+
+		sections = createSections(speakers);
+
+		final Map<String, BitSet> wordsMap = new TreeMap<>();
+		for (int ordinal = 0; ordinal < speakers.length; ordinal++) {
+			final Speaker speaker = speakers[ordinal];
+			indexText(wordsMap, ordinal, speaker.firstName);
+			indexText(wordsMap, ordinal, speaker.lastName);
+			indexText(wordsMap, ordinal, companies.get(speaker.uuid));
+			final List<String> titles = talkTitles.get(speaker.uuid);
+			if (titles != null) {
+				for (String title : titles) {
+					indexText(wordsMap, ordinal, title);
+				}
+			}
+		}
+
+		words = wordsMap.keySet().toArray(new String[wordsMap.size()]);
+		speakersByWord = new int[words.length][];
+		int i = 0;
+		for (BitSet ordinals : wordsMap.values()) {
+			final int[] array = new int[ordinals.cardinality()];
+			int k = 0;
+			for (int o = ordinals.nextSetBit(0); o >= 0; o = ordinals.nextSetBit(o + 1)) {
+				array[k++] = o;
+			}
+			speakersByWord[i++] = array;
+		}
+	}
+
+	public List<Section> getSections() {
+		return sections;
+	}
+
+	/**
+	 * @return sections with speakers matching all words of the query, in the same order
+	 */
+	public List<Section> search(String query) {
+		final String[] queryWords = TalkSearchIndex.tokenize(query);
+		if (queryWords.length == 0) {
+			return sections;
+		}
+
+		BitSet matched = null;
+		for (String queryWord : queryWords) {
+			final BitSet wordMatches = matchWord(queryWord);
+			if (matched == null) {
+				matched = wordMatches;
+			} else {
+				matched.and(wordMatches);
+			}
+			if (matched.isEmpty()) {
+				return Collections.emptyList();
+			}
+		}
+
+		final List<Speaker> result = new ArrayList<>(matched.cardinality());
+		for (int o = matched.nextSetBit(0); o >= 0; o = matched.nextSetBit(o + 1)) {
+			result.add(speakers[o]);
+		}
+		return createSections(result.toArray(new Speaker[result.size()]));
+	}
+
+	private BitSet matchWord(String queryWord) {
+		final BitSet result = new BitSet(speakers.length);
+
+		int index = Arrays.binarySearch(words, queryWord);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		for (; index < words.length && words[index].startsWith(queryWord); index++) {
+			addAll(result, speakersByWord[index]);
+		}
+
+		if (result.isEmpty()) {
+			final int maxDistance = allowedTypos(queryWord);
+			if (maxDistance > 0) {
+				for (int i = 0; i < words.length; i++) {
+					if (prefixDistance(queryWord, words[i], maxDistance) <= maxDistance) {
+						addAll(result, speakersByWord[i]);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static int allowedTypos(String queryWord) {
+		final int length = queryWord.length();
+		return length >= 8 ? 2 : (length >= 4 ? 1 : 0);
+	}
+
+	/**
+	 * Edit distance between query and the closest prefix of the word, stops above the limit.
+	 */
+	static int prefixDistance(String query, String word, int limit) {
+		final int n = query.length();
+		final int m = Math.min(word.length(), n + limit);
+		if (m < n - limit) {
+			return limit + 1;
+		}
+
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j;
+		}
+
+		for (int i = 1; i <= n; i++) {
+			current[0] = i;
+			int rowMin = current[0];
+			for (int j = 1; j <= m; j++) {
+				final int cost = query.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+						previous[j - 1] + cost);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (rowMin > limit) {
+				return limit + 1;
+			}
+			final int[] tmp = previous;
+			previous = current;
+			current = tmp;
+		}
+
+		// Query may match any prefix of the word, take the best one.
+		int result = previous[0];
+		for (int j = 1; j <= m; j++) {
+			result = Math.min(result, previous[j]);
+		}
+		return result;
+	}
+
+	private static List<Section> createSections(Speaker[] sortedSpeakers) {
+		final List<Section> result = new ArrayList<>();
+		String letter = null;
+		List<Speaker> current = null;
+		for (Speaker speaker : sortedSpeakers) {
+			if (!speaker.letter.equals(letter)) {
+				if (current != null) {
+					result.add(new Section(letter, current));
+				}
+				letter = speaker.letter;
+				current = new ArrayList<>();
+			}
+			current.add(speaker);
+		}
+		if (current != null) {
+			result.add(new Section(letter, current));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private static void indexText(Map<String, BitSet> wordsMap, int ordinal, String text) {
+		for (String word : TalkSearchIndex.tokenize(text)) {
+			BitSet ordinals = wordsMap.get(word);
+			if (ordinals == null) {
+				ordinals = new BitSet();
+				wordsMap.put(word, ordinals);
+			}
+			ordinals.set(ordinal);
+		}
+	}
+
+	private static void addAll(BitSet bitSet, int[] ordinals) {
+		for (int ordinal : ordinals) {
+			bitSet.set(ordinal);
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package com.devoxx.data.schedule.search;
+
+import com.annimon.stream.function.Predicate;
+import com.devoxx.connection.model.SlotApiModel;
+import com.devoxx.connection.model.TalkFullApiModel;
+import com.devoxx.connection.model.TalkSpeakerApiModel;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over talks, built once per schedule version. Every word of title,
+ * speakers, track and summary is indexed with all its prefixes, so a query word
+ * matches words it starts, regardless of case and accents.
+ */
+public final class TalkSearchIndex {
+
+	/**
+	 * Longer prefixes are not indexed, longer query words are verified against talk words.
+	 */
+	private static final int MAX_PREFIX_LENGTH = 12;
+
+	private static final int TITLE_WEIGHT = 8;
+	private static final int SPEAKERS_WEIGHT = 4;
+	private static final int TRACK_WEIGHT = 2;
+	private static final int SUMMARY_WEIGHT = 1;
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+	private final long version;
+	private final List<SlotApiModel> talks;
+	private final Map<String, Integer> ordinalsBySlotId;
+	private final Map<String, Postings> postingsByPrefix;
+	private final String[][] wordsByTalk;
+
+	public static TalkSearchIndex create(long version, List<SlotApiModel> talks) {
+		return new TalkSearchIndex(version, talks);
+	}
+
+	private TalkSearchIndex(long version, List<SlotApiModel> talks) {
+		this.version = version;
+		this.talks = talks;
+
+		final int size = talks.size();
+		ordinalsBySlotId = new HashMap<>(size);
+		wordsByTalk = new String[size][];
+
+		final Map<String, PostingsBuilder> builders = new HashMap<>();
+		final Set<String> talkWords = new LinkedHashSet<>();
+		for (int ordinal = 0; ordinal < size; ordinal++) {
+			final SlotApiModel slot = talks.get(ordinal);
+			ordinalsBySlotId.put(slot.slotId, ordinal);
+
+			talkWords.clear();
+			final TalkFullApiModel talk = slot.talk;
+			indexText(builders, talkWords, ordinal, talk.title, TITLE_WEIGHT);
+			if (talk.speakers != null) {
+				for (TalkSpeakerApiModel speaker : talk.speakers) {
+					indexText(builders, talkWords, ordinal, speaker.name, SPEAKERS_WEIGHT);
+				}
+			}
+			indexText(builders, talkWords, ordinal, talk.track, TRACK_WEIGHT);
+			indexText(builders, talkWords, ordinal, talk.summary, SUMMARY_WEIGHT);
+			wordsByTalk[ordinal] = talkWords.toArray(new String[talkWords.size()]);
+		}
+
+		postingsByPrefix = new HashMap<>(builders.size());
+		for (Map.Entry<String, PostingsBuilder> entry : builders.entrySet()) {
+			postingsByPrefix.put(entry.getKey(), entry.getValue().build());
+		}
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return talks containing all words of the query, best matches first
+	 */
+	public List<SlotApiModel> search(String query) {
+		final String[] queryWords = tokenize(query);
+		if (queryWords.length == 0) {
+			return talks;
+		}
+
+		final int[] scores = score(queryWords);
+		final List<Integer> matched = new ArrayList<>();
+		for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+			if (scores[ordinal] > 0) {
+				matched.add(ordinal);
+			}
+		}
+
+		// Stable sort, talks with equal score stay in schedule order.
+		Collections.sort(matched, (lhs, rhs) -> scores[rhs] - scores[lhs]);
+
+		final List<SlotApiModel> result = new ArrayList<>(matched.size());
+		for (Integer ordinal : matched) {
+			result.add(talks.get(ordinal));
+		}
+		return result;
+	}
+
+	/**
+	 * @return predicate accepting talks which contain all words of the query
+	 */
+	public Predicate<SlotApiModel> createMask(String query) {
+		final String[] queryWords = tokenize(query);
+		if (queryWords.length == 0) {
+			return SlotApiModel::isTalk;
+		}
+
+		final int[] scores = score(queryWords);
+		final BitSet matched = new BitSet(scores.length);
+		for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+			if (scores[ordinal] > 0) {
+				matched.set(ordinal);
+			}
+		}
+
+		return value -> {
+			final Integer ordinal = ordinalsBySlotId.get(value.slotId);
+			return ordinal != null && matched.get(ordinal);
+		};
+	}
+
+	/**
+	 * Sum of best field weights of every query word, 0 if any word is missing.
+	 */
+	private int[] score(String[] queryWords) {
+		final int[] result = new int[talks.size()];
+		for (int i = 0; i < queryWords.length; i++) {
+			final String word = queryWords[i];
+			final boolean needsVerification = word.length() > MAX_PREFIX_LENGTH;
+			final Postings postings = postingsByPrefix.get(needsVerification
+					? word.substring(0, MAX_PREFIX_LENGTH) : word);
+			if (postings == null) {
+				return new int[result.length];
+			}
+
+			final int[] matchedScores = new int[result.length];
+			for (int p = 0; p < postings.ordinals.length; p++) {
+				final int ordinal = postings.ordinals[p];
+				if (i > 0 && result[ordinal] == 0) {
+					continue;
+				}
+				if (needsVerification && !hasWordStartingWith(ordinal, word)) {
+					continue;
+				}
+				matchedScores[ordinal] = result[ordinal] + postings.weights[p];
+			}
+			System.arraycopy(matchedScores, 0, result, 0, result.length);
+		}
+		return result;
+	}
+
+	private boolean hasWordStartingWith(int ordinal, String word) {
+		for (String talkWord : wordsByTalk[ordinal]) {
+			if (talkWord.startsWith(word)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void indexText(Map<String, PostingsBuilder> builders, Set<String> talkWords,
+								  int ordinal, String text, int weight) {
+		for (String word : tokenize(text)) {
+			talkWords.add(word);
+			final int prefixes = Math.min(word.length(), MAX_PREFIX_LENGTH);
+			for (int length = 1; length <= prefixes; length++) {
+				final String prefix = word.substring(0, length);
+				PostingsBuilder builder = builders.get(prefix);
+				if (builder == null) {
+					builder = new PostingsBuilder();
+					builders.put(prefix, builder);
+				}
+				builder.add(ordinal, weight);
+			}
+		}
+	}
+
+	static String[] tokenize(String text) {
+		if (text == null || text.isEmpty()) {
+			return new String[0];
+		}
+
+		final String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+				.replaceAll("").toLowerCase(Locale.US);
+		final List<String> result = new ArrayList<>();
+		final int length = normalized.length();
+		int wordStart = -1;
+		for (int i = 0; i <= length; i++) {
+			final boolean isWordChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+			if (isWordChar && wordStart < 0) {
+				wordStart = i;
+			} else if (!isWordChar && wordStart >= 0) {
+				result.add(normalized.substring(wordStart, i));
+				wordStart = -1;
+			}
+		}
+		return result.toArray(new String[result.size()]);
+	}
+
+	private static final class Postings {
+		final int[] ordinals;
+		final int[] weights;
+
+		Postings(int[] ordinals, int[] weights) {
+			this.ordinals = ordinals;
+			this.weights = weights;
+		}
+	}
+
+	/**
+	 * Talks are indexed in ordinal order, so ordinals are appended sorted and
+	 * a repeated ordinal is always the last one.
+	 */
+	private static final class PostingsBuilder {
+		private int[] ordinals = new int[4];
+		private int[] weights = new int[4];
+		private int size;
+
+		void add(int ordinal, int weight) {
+			if (size > 0 && ordinals[size - 1] == ordinal) {
+				weights[size - 1] = Math.max(weights[size - 1], weight);
+				return;
+			}
+
+			if (size == ordinals.length) {
+				ordinals = Arrays.copyOf(ordinals, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+			}
+			ordinals[size] = ordinal;
+			weights[size] = weight;
+			size++;
+		}
+
+		Postings build() {
+			return new Postings(Arrays.copyOf(ordinals, size), Arrays.copyOf(weights, size));
+		}
+	}
+}
@@ -1,45 +1,111 @@
 package com.devoxx.data.user;
 
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.model.RealmFavouriteTalk;
 
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import io.realm.Realm;
+import io.realm.RealmResults;
 
-@EBean
+/**
+ * Favourites are kept in memory, loaded once from Realm. Changes are applied to the
+ * memory set immediately and written to Realm in the background, in order.
+ */
+@EBean(scope = EBean.Scope.Singleton)
 public class UserFavouritedTalksManager {
 
+	public interface FavouritesListener {
+		/**
+		 * Called on the thread which changed favourites.
+		 */
+		void onFavouriteChanged(String talkId, boolean isFavourite);
+	}
+
 	@Bean RealmProvider realmProvider;
+	@Bean TaskExecutor taskExecutor;
+
+	private final List<FavouritesListener> listeners = new CopyOnWriteArrayList<>();
+	private Set<String> favourites;
 
 	public boolean isFavouriteTalk(String talkId) {
-		final Realm realm = realmProvider.getRealm();
-		final RealmFavouriteTalk favouriteTalk = realm.where(RealmFavouriteTalk.class)
-				.equalTo("talkId", talkId).findFirst();
-		final boolean result = favouriteTalk != null;
-		realm.close();
-		return result;
+		synchronized (this) {
+			return getFavourites().contains(talkId);
+		}
+	}
+
+	public Set<String> getFavouriteTalkIds() {
+		synchronized (this) {
+			return new HashSet<>(getFavourites());
+		}
 	}
 
 	public void favouriteTalk(String talkId) {
-		if (!isFavouriteTalk(talkId)) {
-			final Realm realm = realmProvider.getRealm();
-			realm.beginTransaction();
-			final RealmFavouriteTalk favouriteTalk = realm.createObject(RealmFavouriteTalk.class);
-			favouriteTalk.setTalkId(talkId);
-			realm.commitTransaction();
-			realm.close();
+		synchronized (this) {
+			if (!getFavourites().add(talkId)) {
+				return;
+			}
+			persist(() -> realmProvider.write(realm -> {
+				final RealmFavouriteTalk favouriteTalk = new RealmFavouriteTalk();
+				favouriteTalk.setTalkId(talkId);
+				realm.copyToRealmOrUpdate(favouriteTalk);
+			}));
 		}
+		notifyListeners(talkId, true);
 	}
 
 	public void unFavouriteTalk(String talkId) {
-		if (isFavouriteTalk(talkId)) {
+		synchronized (this) {
+			if (!getFavourites().remove(talkId)) {
+				return;
+			}
+			persist(() -> realmProvider.write(realm ->
+					realm.where(RealmFavouriteTalk.class).equalTo("talkId", talkId).findAll().clear()));
+		}
+		notifyListeners(talkId, false);
+	}
+
+	/**
+	 * Called under the lock, so writes reach the disk lane in the same order as memory changes.
+	 * In-memory state is already changed, so a write rejected by a full disk lane runs right away.
+	 */
+	private void persist(Runnable write) {
+		if (!taskExecutor.execute(TaskExecutor.Lane.DISK, write)) {
+			write.run();
+		}
+	}
+
+	public void addListener(FavouritesListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(FavouritesListener listener) {
+		listeners.remove(listener);
+	}
+
+	private Set<String> getFavourites() {
+		if (favourites == null) {
 			final Realm realm = realmProvider.getRealm();
-			realm.beginTransaction();
-			realm.where(RealmFavouriteTalk.class).equalTo("talkId", talkId).findAll().clear();
-			realm.commitTransaction();
-			realm.close();
+			final RealmResults<RealmFavouriteTalk> stored = realm.allObjects(RealmFavouriteTalk.class);
+			favourites = new HashSet<>(stored.size());
+			for (RealmFavouriteTalk favouriteTalk : stored) {
+				favourites.add(favouriteTalk.getTalkId());
+			}
+			realmProvider.release(realm);
+		}
+		return favourites;
+	}
+
+	private void notifyListeners(String talkId, boolean isFavourite) {
+		for (FavouritesListener listener : listeners) {
+			listener.onFavouriteChanged(talkId, isFavourite);
 		}
 	}
 }
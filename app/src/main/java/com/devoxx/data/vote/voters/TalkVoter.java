@@ -1,7 +1,6 @@
 package com.devoxx.data.vote.voters;
 
 import com.afollestad.materialdialogs.MaterialDialog;
-import com.annimon.stream.Optional;
 import com.devoxx.BuildConfig;
 import com.devoxx.R;
 import com.devoxx.connection.model.SlotApiModel;
@@ -11,8 +10,9 @@ import com.devoxx.connection.vote.model.VoteApiModel;
 import com.devoxx.connection.vote.model.VoteApiSimpleModel;
 import com.devoxx.connection.vote.model.VoteDetailsApiModel;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.conference.ConferenceManager;
-import com.devoxx.data.model.RealmConference;
+import com.devoxx.data.conference.model.ActiveConference;
 import com.devoxx.data.user.UserManager;
 import com.devoxx.data.vote.VotedTalkModel;
 import com.devoxx.data.vote.interfaces.IOnVoteForTalkListener;
@@ -28,8 +28,6 @@ import org.joda.time.DateTime;
 import android.app.Activity;
 import android.graphics.Color;
 import android.os.Build;
-import android.os.Handler;
-import android.os.HandlerThread;
 import android.support.annotation.NonNull;
 import android.support.v4.graphics.drawable.DrawableCompat;
 import android.text.TextUtils;
@@ -67,6 +65,9 @@ public class TalkVoter implements ITalkVoter {
 	@Bean
 	UserManager userManager;
 
+	@Bean
+	TaskExecutor taskExecutor;
+
 	@Override
 	public void showVoteDialog(Activity activity, SlotApiModel slot, IOnVoteForTalkListener listener) {
 		final MaterialDialog.Builder builder = new MaterialDialog.Builder(activity);
@@ -118,20 +119,14 @@ public class TalkVoter implements ITalkVoter {
 
 	@Override
 	public boolean isVotingEnabled() {
-		final Optional<RealmConference> conferenceOptional = conferenceManager.getActiveConference();
-		final RealmConference realmConference = conferenceOptional.orElse(null);
-		final boolean isConferenceAvailable = realmConference != null;
-		boolean isVoteEnabled = isConferenceAvailable
-				&& Boolean.parseBoolean(realmConference.getVotingEnabled());
+		final ActiveConference conference = conferenceManager.getActiveConferenceDescriptor().orElse(null);
+		final boolean isConferenceAvailable = conference != null;
+		boolean isVoteEnabled = isConferenceAvailable && conference.isVotingEnabled();
 
 		if (isConferenceAvailable) {
-			final String fromDate = realmConference.getFromDate();
-			final String toDate = realmConference.getToDate();
-			final DateTime fromConfDate = ConferenceManager.parseConfDate(fromDate);
-			final DateTime toConfDate = ConferenceManager.parseConfDate(toDate);
 			final DateTime now = new DateTime(ConferenceManager.getNow());
 
-			isVoteEnabled &= now.isAfter(fromConfDate) && now.isBefore(toConfDate);
+			isVoteEnabled &= now.isAfter(conference.getFromDate()) && now.isBefore(conference.getToDate());
 		}
 
 		return isVoteEnabled;
@@ -142,7 +137,7 @@ public class TalkVoter implements ITalkVoter {
 		final Realm realm = realmProvider.getRealm();
 		final VotedTalkModel model = realm.where(VotedTalkModel.class)
 				.equalTo("talkId", talkId).findFirst();
-		realm.close();
+		realmProvider.release(realm);
 		return model != null;
 	}
 
@@ -150,11 +145,7 @@ public class TalkVoter implements ITalkVoter {
 			int rating, String talkId, IOnVoteForTalkListener listener,
 			String content, String delivery, String other, Activity activity) {
 
-		final HandlerThread handlerThread = new HandlerThread("voteForTalk");
-		handlerThread.start();
-
-		final Handler handler = new Handler(handlerThread.getLooper());
-		handler.post(() -> {
+		final boolean accepted = taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> {
 			final Realm realm = realmProvider.getRealm();
 
 			if (BuildConfig.TEST_VOTE) {
@@ -163,8 +154,11 @@ public class TalkVoter implements ITalkVoter {
 				doRealCall(rating, talkId, listener, content, delivery, other, activity, realm);
 			}
 
-			realm.close();
+			realmProvider.release(realm);
 		});
+		if (!accepted) {
+			notifyAboutError(listener);
+		}
 	}
 
 	private void doFakeCall(String talkId, IOnVoteForTalkListener listener, Activity activity, Realm realm) {
@@ -3,6 +3,7 @@ package com.devoxx.integrations.huntly;
 import com.annimon.stream.Optional;
 import com.devoxx.BuildConfig;
 import com.devoxx.data.RealmProvider;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.register.BaseExtractor;
 import com.devoxx.integrations.huntly.connection.HuntlyConnection;
 import com.devoxx.integrations.huntly.connection.model.HuntlyActivityCompleteResponse;
@@ -20,7 +21,6 @@ import com.devoxx.integrations.huntly.storage.RealmHuntlyUserStats;
 import com.devoxx.utils.Logger;
 import com.google.android.gms.ads.identifier.AdvertisingIdClient;
 
-import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
@@ -50,6 +50,7 @@ public class HuntlyController {
 	@RootContext Context context;
 	@Bean HuntlyConnection huntlyConnection;
 	@Bean RealmProvider realmProvider;
+	@Bean TaskExecutor taskExecutor;
 	@Pref HuntlySettings_ huntlySettings;
 
 	void register() {
@@ -65,8 +66,12 @@ public class HuntlyController {
 		}
 	}
 
-	@Background void updateUserProfileAsync(String confId, String finalCode,
-	                                        BaseExtractor infoExtractor) {
+	void updateUserProfileAsync(String confId, String finalCode, BaseExtractor infoExtractor) {
+		taskExecutor.execute(TaskExecutor.Lane.NETWORK,
+				() -> updateUserProfileSync(confId, finalCode, infoExtractor));
+	}
+
+	private void updateUserProfileSync(String confId, String finalCode, BaseExtractor infoExtractor) {
 		if (!isEventIdAvailable()) {
 			return;
 		}
@@ -79,7 +84,7 @@ public class HuntlyController {
 		} catch (IOException e) {
 			Logger.exc(e);
 		} finally {
-			realm.close();
+			realmProvider.release(realm);
 		}
 	}
 
@@ -98,7 +103,7 @@ public class HuntlyController {
 					}
 				}
 				realm.commitTransaction();
-				realm.close();
+				realmProvider.release(realm);
 			}
 		} catch (IOException e) {
 			Logger.exc(e);
@@ -130,7 +135,7 @@ public class HuntlyController {
 		} catch (IOException e) {
 			Logger.exc(e);
 		} finally {
-			realm.close();
+			realmProvider.release(realm);
 		}
 	}
 
@@ -154,7 +159,7 @@ public class HuntlyController {
 		} catch (IOException e) {
 			Logger.exc(e);
 		} finally {
-			realm.close();
+			realmProvider.release(realm);
 		}
 	}
 
@@ -166,7 +171,11 @@ public class HuntlyController {
 		return isQuestAvailable(HuntlyQuestActivity.QUEST_ACTIVITY_VOTE);
 	}
 
-	@Background void completeQuestAsync(HuntlyQuestActivity quest, String confCode) {
+	void completeQuestAsync(HuntlyQuestActivity quest, String confCode) {
+		taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> completeQuestSync(quest, confCode));
+	}
+
+	private void completeQuestSync(HuntlyQuestActivity quest, String confCode) {
 		try {
 			final Response<HuntlyActivityCompleteResponse> r =
 					huntlyConnection.completeQuest(quest.getQuestId());
@@ -215,13 +224,12 @@ public class HuntlyController {
 	}
 
 	public void clear() {
-		final Realm realm = realmProvider.getRealm();
-		realm.beginTransaction();
-		realm.clear(RealmHuntlyEvent.class);
-		realm.clear(RealmHuntlyQuestActivity.class);
-		realm.clear(RealmHuntlyUserStats.class);
-		realm.clear(RealmHuntlyDeepLinks.class);
-		realm.commitTransaction();
+		realmProvider.write(realm -> {
+			realm.clear(RealmHuntlyEvent.class);
+			realm.clear(RealmHuntlyQuestActivity.class);
+			realm.clear(RealmHuntlyUserStats.class);
+			realm.clear(RealmHuntlyDeepLinks.class);
+		});
 
 		huntlySettings.clear();
 	}
@@ -259,7 +267,7 @@ public class HuntlyController {
 			}
 			Logger.exc(e);
 		} finally {
-			realm.close();
+			realmProvider.release(realm);
 		}
 	}
 
@@ -268,21 +276,16 @@ public class HuntlyController {
 		final RealmHuntlyUserStats stats = realm.where(RealmHuntlyUserStats.class).findFirst();
 		final HuntlyUserStats result = HuntlyUserStats.fromDb(stats);
 		final Optional<HuntlyUserStats> res = Optional.ofNullable(result);
-		realm.close();
+		realmProvider.release(realm);
 		return res;
 	}
 
 	HuntlyDeepLinkConf currentDeepLinks(String activeConferenceID) {
-		final HuntlyDeepLinkConf result;
-		final Realm realm = realmProvider.getRealm();
-		final RealmHuntlyDeepLinks links = realm.where(RealmHuntlyDeepLinks.class)
-				.equalTo("confId", activeConferenceID).findFirst();
-		if (links != null) {
-			result = HuntlyDeepLinkConf.fromDb(links);
-		} else {
-			result = null;
-		}
-		return result;
+		return realmProvider.read(realm -> {
+			final RealmHuntlyDeepLinks links = realm.where(RealmHuntlyDeepLinks.class)
+					.equalTo("confId", activeConferenceID).findFirst();
+			return links != null ? HuntlyDeepLinkConf.fromDb(links) : null;
+		});
 	}
 
 	public String token() {
@@ -293,7 +296,7 @@ public class HuntlyController {
 		final Realm realm = realmProvider.getRealm();
 		final RealmHuntlyEvent event = realm.where(RealmHuntlyEvent.class).equalTo("externalId", id).findFirst();
 		final long result = event != null ? event.getId() : UNKNOWN_EVENT_ID;
-		realm.close();
+		realmProvider.release(realm);
 		return result;
 	}
 
@@ -327,14 +330,14 @@ public class HuntlyController {
 		final RealmHuntlyQuestActivity quest = realm.where(RealmHuntlyQuestActivity.class)
 				.equalTo("activity", activity, Case.INSENSITIVE).findFirst();
 		final HuntlyQuestActivity result = HuntlyQuestActivity.fromDb(quest);
-		realm.close();
+		realmProvider.release(realm);
 		return result;
 	}
 
 	private boolean isQuestAvailable(@HuntlyQuestActivity.QuestActivity String activity) {
 		final Realm realm = realmProvider.getRealm();
 		final long count = realm.where(RealmHuntlyQuestActivity.class).equalTo("activity", activity, Case.INSENSITIVE).count();
-		realm.close();
+		realmProvider.release(realm);
 
 		boolean result = false;
 		if (count > 0) {
@@ -3,6 +3,7 @@ package com.devoxx.integrations.huntly;
 import com.annimon.stream.Optional;
 import com.devoxx.R;
 import com.devoxx.android.fragment.common.BaseMenuFragment;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.data.register.BaseExtractor;
 import com.devoxx.integrations.IntegrationController;
 import com.devoxx.integrations.huntly.connection.HuntlyConnection;
@@ -14,8 +15,6 @@ import org.androidannotations.annotations.RootContext;
 
 import android.app.Activity;
 import android.content.Context;
-import android.os.Handler;
-import android.os.HandlerThread;
 import android.view.Menu;
 import android.view.MenuItem;
 
@@ -25,6 +24,7 @@ public class HuntlyIntegrationController implements IntegrationController {
 	@Bean HuntlyConnection huntlyConnection;
 	@Bean HuntlyPresenter huntlyPresenter;
 	@Bean HuntlyController huntlyController;
+	@Bean TaskExecutor taskExecutor;
 	@RootContext Context context;
 
 	@Override public void register() {
@@ -37,10 +37,8 @@ public class HuntlyIntegrationController implements IntegrationController {
 	}
 
 	@Override public void updateNeededData(String confCode) {
-		final HandlerThread handlerThread = new HandlerThread("updateNeededData");
-		handlerThread.start();
-		final Handler handler = new Handler(handlerThread.getLooper());
-		handler.post(() -> huntlyController.fetchOtherData(confCode));
+		taskExecutor.executeUnique(TaskExecutor.Lane.NETWORK, "huntly-data:" + confCode,
+				() -> huntlyController.fetchOtherData(confCode));
 	}
 
 	@Override public void handleAppResume(String confId, Activity activity) {
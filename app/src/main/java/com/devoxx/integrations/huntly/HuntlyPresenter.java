@@ -2,11 +2,11 @@ package com.devoxx.integrations.huntly;
 
 import com.afollestad.materialdialogs.MaterialDialog;
 import com.devoxx.R;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.integrations.huntly.connection.model.HuntlyDeepLinkConf;
 import com.devoxx.integrations.huntly.connection.model.HuntlyQuestActivity;
 import com.devoxx.utils.InfoUtil;
 
-import org.androidannotations.annotations.Background;
 import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
@@ -33,6 +33,7 @@ public class HuntlyPresenter {
 	@Pref HuntlySettings_ huntlySettings;
 	@Bean HuntlyController huntlyController;
 	@Bean InfoUtil infoUtil;
+	@Bean TaskExecutor taskExecutor;
 
 	void showFirstRunDialogIfNeeded(String confId, Activity activity) {
 		if (huntlySettings.isFirstRun().getOr(true) && huntlyController.isAnyFirstRunQuest()) {
@@ -111,7 +112,7 @@ public class HuntlyPresenter {
 		context.sendBroadcast(new Intent(INTEGRATION_DIALOG_DISMISSED));
 	}
 
-	@Background void updateUserStatsAsync(HuntlyController.UserStatsListener listener) {
-		huntlyController.updateUserStats(listener);
+	void updateUserStatsAsync(HuntlyController.UserStatsListener listener) {
+		taskExecutor.execute(TaskExecutor.Lane.NETWORK, () -> huntlyController.updateUserStats(listener));
 	}
 }
@@ -1,6 +1,6 @@
 package com.devoxx.integrations.huntly.connection;
 
-import com.devoxx.BuildConfig;
+import com.devoxx.connection.HttpClientCore;
 import com.devoxx.huntlyintegration.Encryption;
 import com.devoxx.integrations.huntly.HuntlyController;
 import com.devoxx.integrations.huntly.connection.model.HuntlyActivityCompleteResponse;
@@ -29,38 +29,26 @@ import javax.net.ssl.X509TrustManager;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 @EBean(scope = EBean.Scope.Singleton)
 public class HuntlyConnection {
 
 	@Bean HuntlyController huntlyController;
+	@Bean HttpClientCore httpClientCore;
 
 	private HuntlyApi huntlyApi;
 
 	public void init() {
-		final OkHttpClient.Builder builder = new OkHttpClient.Builder();
-
-		if (BuildConfig.DEBUG) {
-			final HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor();
-			httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-			builder.addInterceptor(httpLoggingInterceptor);
-		}
+		final OkHttpClient.Builder builder = httpClientCore.newClientBuilder();
 
 		builder.addInterceptor(new AuthInterceptor());
 
 		builder.sslSocketFactory(setupSsl());
 		builder.hostnameVerifier((hostname, session) -> true);
 
-		final Retrofit retrofit = new Retrofit.Builder()
-				.baseUrl("https://srv.huntlyapp.com/")
-				.client(builder.build())
-				.addConverterFactory(GsonConverterFactory.create())
-				.build();
-		huntlyApi = retrofit.create(HuntlyApi.class);
+		huntlyApi = httpClientCore.createRetrofit("https://srv.huntlyapp.com/", builder.build())
+				.create(HuntlyApi.class);
 	}
 
 	public Response<HuntlyRegisterResponse> login(String id) throws IOException {
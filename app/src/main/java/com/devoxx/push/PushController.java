@@ -13,11 +13,12 @@ import com.amazonaws.services.sns.model.SubscribeResult;
 import com.crashlytics.android.Crashlytics;
 import com.devoxx.BuildConfig;
 import com.devoxx.R;
+import com.devoxx.data.TaskExecutor;
 import com.devoxx.utils.Logger;
 import com.google.android.gms.gcm.GoogleCloudMessaging;
 import com.google.android.gms.iid.InstanceID;
 
-import org.androidannotations.annotations.Background;
+import org.androidannotations.annotations.Bean;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
 import org.androidannotations.annotations.res.StringRes;
@@ -42,6 +43,7 @@ public class PushController {
 	private static final String PUSH_SETTINGS_KEY = "PushController.PUSH_SETTINGS_KEY";
 
 	@RootContext protected Context context;
+	@Bean protected TaskExecutor taskExecutor;
 	@StringRes(R.string.gcm_defaultSenderId) protected String senderId;
 
 	private AmazonSNSClient client = new AmazonSNSClient(new AWSCredentials() {
@@ -54,8 +56,11 @@ public class PushController {
 		}
 	});
 
-	@Background
 	public void uploadToken() {
+		taskExecutor.executeUnique(TaskExecutor.Lane.NETWORK, "push-token-upload", this::uploadTokenSync);
+	}
+
+	private void uploadTokenSync() {
 		final String token = getToken();
 		if (token != null) {
 			try {
@@ -12,10 +12,18 @@ import android.content.Context;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.text.TextUtils;
 import android.widget.Toast;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PushGcmListenerService extends GcmListenerService {
 
+	// Optional comma separated lists describing what changed, e.g. "monday,tuesday".
+	private static final String CHANGED_DAYS_KEY = "days";
+	private static final String CHANGED_SLOT_IDS_KEY = "slotIds";
+
 	@Override public void onMessageReceived(String from, Bundle data) {
 		super.onMessageReceived(from, data);
 
@@ -25,8 +33,17 @@ public class PushGcmListenerService extends GcmListenerService {
 
 		if (conferenceApiModel != null) {
 			final SlotsDataManager slotsDataManager = SlotsDataManager_.getInstance_(context);
-			slotsDataManager.forceUpdateSlotsAsync(context,
-					new SlotsDownloader.DownloadRequest(conferenceApiModel));
+			final SlotsDownloader.DownloadRequest downloadRequest =
+					new SlotsDownloader.DownloadRequest(conferenceApiModel);
+			final List<String> changedDays = splitList(data.getString(CHANGED_DAYS_KEY));
+			final List<String> changedSlotIds = splitList(data.getString(CHANGED_SLOT_IDS_KEY));
+
+			if (changedDays.isEmpty() && changedSlotIds.isEmpty()) {
+				slotsDataManager.forceUpdateSlotsAsync(context, downloadRequest);
+			} else {
+				slotsDataManager.syncChangedSlotsAsync(context, downloadRequest,
+						changedDays, changedSlotIds);
+			}
 		}
 
 		if (BuildConfig.DEBUG) {
@@ -35,4 +52,17 @@ public class PushGcmListenerService extends GcmListenerService {
 							"Push received: " + data.toString(), Toast.LENGTH_LONG).show());
 		}
 	}
+
+	private static List<String> splitList(String value) {
+		final List<String> result = new ArrayList<>();
+		if (!TextUtils.isEmpty(value)) {
+			for (String item : TextUtils.split(value, ",")) {
+				final String trimmed = item.trim();
+				if (!trimmed.isEmpty()) {
+					result.add(trimmed);
+				}
+			}
+		}
+		return result;
+	}
 }
@@ -0,0 +1,69 @@
+package com.devoxx.utils;
+
+import android.view.Choreographer;
+
+import java.util.Locale;
+
+/**
+ * Counts frames and frames missed between {@link #start()} and {@link #stop()},
+ * summary is logged in debug builds only.
+ */
+public final class FrameTimeMonitor implements Choreographer.FrameCallback {
+
+	private static final long FRAME_BUDGET_NS = 16666667L;
+
+	private final String name;
+
+	private boolean running;
+	private long lastFrameTimeNs;
+	private int frames;
+	private int droppedFrames;
+	private long worstFrameNs;
+
+	public FrameTimeMonitor(String name) {
+		this.name = name;
+	}
+
+	public void start() {
+		if (running || !Logger.isEnabled) {
+			return;
+		}
+
+		running = true;
+		lastFrameTimeNs = 0;
+		frames = 0;
+		droppedFrames = 0;
+		worstFrameNs = 0;
+		Choreographer.getInstance().postFrameCallback(this);
+	}
+
+	public void stop() {
+		if (!running) {
+			return;
+		}
+
+		running = false;
+		Choreographer.getInstance().removeFrameCallback(this);
+
+		if (frames > 0) {
+			Logger.l(String.format(Locale.US, "%s: %d frames, %d dropped, worst %.1f ms",
+					name, frames, droppedFrames, worstFrameNs / 1000000f));
+		}
+	}
+
+	@Override
+	public void doFrame(long frameTimeNanos) {
+		if (!running) {
+			return;
+		}
+
+		if (lastFrameTimeNs > 0) {
+			final long frameNs = frameTimeNanos - lastFrameTimeNs;
+			frames++;
+			droppedFrames += Math.max(0, (int) (frameNs / FRAME_BUDGET_NS) - 1);
+			worstFrameNs = Math.max(worstFrameNs, frameNs);
+		}
+		lastFrameTimeNs = frameTimeNanos;
+		Choreographer.getInstance().postFrameCallback(this);
+	}
+}
@@ -0,0 +1,52 @@
+package com.devoxx.utils;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.AttrRes;
+import android.support.v4.content.ContextCompat;
+import android.util.SparseIntArray;
+import android.util.TypedValue;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Resource ids of theme attributes, resolved once per theme. Drawables are still
+ * created per view, from the resources drawable cache, as their state can't be shared.
+ */
+public final class ThemeAttributes {
+
+	private static final int UNRESOLVED = 0;
+
+	private static final Map<Resources.Theme, SparseIntArray> resourceIds = new WeakHashMap<>();
+
+	private ThemeAttributes() {
+	}
+
+	public static int getResourceId(Context context, @AttrRes int attr) {
+		final Resources.Theme theme = context.getTheme();
+		synchronized (resourceIds) {
+			SparseIntArray themeIds = resourceIds.get(theme);
+			if (themeIds == null) {
+				themeIds = new SparseIntArray();
+				resourceIds.put(theme, themeIds);
+			}
+
+			int result = themeIds.get(attr, UNRESOLVED);
+			if (result == UNRESOLVED) {
+				final TypedValue value = new TypedValue();
+				if (theme.resolveAttribute(attr, value, true)) {
+					result = value.resourceId;
+					themeIds.put(attr, result);
+				}
+			}
+			return result;
+		}
+	}
+
+	public static Drawable getDrawable(Context context, @AttrRes int attr) {
+		final int resourceId = getResourceId(context, attr);
+		return resourceId != UNRESOLVED ? ContextCompat.getDrawable(context, resourceId) : null;
+	}
+}